@@ -2,6 +2,7 @@ package com.lms.backend.config;
 
 import com.lms.backend.model.*;
 import com.lms.backend.repository.*;
+import com.lms.backend.service.CounterReconciler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +36,9 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CounterReconciler counterReconciler;
+
     @Override
     public void run(String... args) throws Exception {
         System.out.println("🚀 Starting Data Seeding...");
@@ -240,7 +244,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(12999.0)
                 .level("Advanced")
                 .rating(4.8)
-                .totalStudents(3247)
                 .duration("12 weeks")
                 .build();
         Course savedCourse = courseRepository.save(course);
@@ -271,7 +274,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(2999.0)
                 .level("Beginner")
                 .rating(4.9)
-                .totalStudents(1895)
                 .duration("6 weeks")
                 .build();
         Course savedCourse = courseRepository.save(course);
@@ -301,7 +303,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(14999.0)
                 .level("Intermediate")
                 .rating(4.7)
-                .totalStudents(2876)
                 .duration("14 weeks")
                 .build();
         Course savedCourse = courseRepository.save(course);
@@ -333,7 +334,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(11999.0)
                 .level("Intermediate")
                 .rating(4.6)
-                .totalStudents(2156)
                 .duration("10 weeks")
                 .build();
         Course savedCourse = courseRepository.save(course);
@@ -363,7 +363,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(9999.0)
                 .level("Intermediate")
                 .rating(4.5)
-                .totalStudents(1789)
                 .duration("8 weeks")
                 .build();
         Course savedCourse = courseRepository.save(course);
@@ -395,7 +394,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(8999.0)
                 .level("Beginner")
                 .rating(4.8)
-                .totalStudents(3421)
                 .duration("8 weeks")
                 .build();
         courseRepository.save(course);
@@ -413,7 +411,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(7999.0)
                 .level("Beginner")
                 .rating(4.4)
-                .totalStudents(1567)
                 .duration("6 weeks")
                 .build();
         courseRepository.save(course);
@@ -431,7 +428,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(13999.0)
                 .level("Advanced")
                 .rating(4.7)
-                .totalStudents(1987)
                 .duration("10 weeks")
                 .build();
         courseRepository.save(course);
@@ -449,7 +445,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(15999.0)
                 .level("Advanced")
                 .rating(4.9)
-                .totalStudents(2678)
                 .duration("12 weeks")
                 .build();
         courseRepository.save(course);
@@ -467,7 +462,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(10999.0)
                 .level("Intermediate")
                 .rating(4.6)
-                .totalStudents(1890)
                 .duration("9 weeks")
                 .build();
         courseRepository.save(course);
@@ -485,7 +479,6 @@ public class DataSeeder implements CommandLineRunner {
                 .price(11999.0)
                 .level("Intermediate")
                 .rating(4.8)
-                .totalStudents(2345)
                 .duration("10 weeks")
                 .build();
         courseRepository.save(course);
@@ -532,6 +525,9 @@ public class DataSeeder implements CommandLineRunner {
 
                 System.out.println("✅ " + enrollmentsCreated + " sample enrollments created");
 
+                // Seeded rows bypass the enrollment service, so bring the course counters in line now
+                counterReconciler.reconcile();
+
             } else {
                 System.out.println("ℹ️ Enrollments already exist in database");
             }
@@ -1,13 +1,22 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.dto.AdminUserRow;
+import com.lms.backend.dto.BulkModerationResult;
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.model.DeletionJob;
 import com.lms.backend.model.User;
 import com.lms.backend.service.AdminService;
+import com.lms.backend.service.DeletionJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +28,31 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    // Keyset-paginated listing, pass nextCursor back for the following page
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return adminService.getAllUsers();
+    public CursorPage<AdminUserRow> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String emailPrefix) {
+        return adminService.getUsersPage(cursor, size, role, emailPrefix);
+    }
+
+    // Full export streamed from a database cursor, format = csv | ndjson
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String emailPrefix) {
+        StreamingResponseBody body = adminService.exportUsers(format, role, emailPrefix);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     // Create User Request
@@ -31,10 +62,10 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    // 202: the user is locked out now and removed by a background job
     @DeleteMapping("/users/{id}")
-    public String deleteUser(@PathVariable Long id) {
-        adminService.deleteUser(id);
-        return "User deleted successfully.";
+    public ResponseEntity<DeletionJob> deleteUser(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(adminService.deleteUser(id));
     }
 
     @PutMapping("/users/{id}/role")
@@ -67,6 +98,33 @@ public class AdminController {
         return adminService.rejectCourse(courseId);
     }
 
+    // Body: {"courseIds": [1, 2, 3]}; outcome per id, applied in one transaction
+    @PutMapping("/courses/approve")
+    public BulkModerationResult approveCourses(@RequestBody BulkCourseRequest request) {
+        return adminService.approveCourses(request.getCourseIds());
+    }
+
+    @PutMapping("/courses/reject")
+    public BulkModerationResult rejectCourses(@RequestBody BulkCourseRequest request) {
+        return adminService.rejectCourses(request.getCourseIds());
+    }
+
+    // Progress of background course / user deletions
+    @GetMapping("/deletions")
+    public List<DeletionJob> getDeletionJobs(@RequestParam(defaultValue = "20") int limit) {
+        return deletionJobService.getRecentJobs(limit);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public DeletionJob getDeletionJob(@PathVariable Long jobId) {
+        return deletionJobService.getJob(jobId);
+    }
+
+    @GetMapping("/cache/catalog")
+    public Map<String, Object> getCatalogCacheStats() {
+        return adminService.getCatalogCacheStats();
+    }
+
     public static class CreateUserRequest {
         private String username;
         private String email;
@@ -86,4 +144,11 @@ public class AdminController {
         public String getRole() { return role; }
         public void setRole(String role) { this.role = role; }
     }
-}
\ No newline at end of file
+
+    public static class BulkCourseRequest {
+        private List<Long> courseIds;
+
+        public List<Long> getCourseIds() { return courseIds; }
+        public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+    }
+}
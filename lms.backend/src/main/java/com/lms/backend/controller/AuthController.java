@@ -2,12 +2,16 @@ package com.lms.backend.controller;
 
 import com.lms.backend.dto.LoginRequest;
 import com.lms.backend.dto.SignupRequest;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.model.ActivityEvent.ActivityType;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.security.JwtTokenProvider;
+import com.lms.backend.service.AdminStatsSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -39,6 +43,12 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AdminStatsSnapshot adminStatsSnapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody SignupRequest request) {
         try {
@@ -64,7 +74,10 @@ public class AuthController {
                     .role(role)
                     .build();
 
-            userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            adminStatsSnapshot.markStale();
+            eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.USER_REGISTERED, savedUser.getId(), null,
+                    "New student " + savedUser.getUsername() + " joined"));
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "User registered successfully!");
@@ -85,13 +98,13 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
 
-            // Generate token
-            String token = jwtTokenProvider.generateToken(authentication);
-
             // Get user details for response
             User user = userRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            // Generate token (carries user id so requests skip the users lookup)
+            String token = jwtTokenProvider.generateToken(authentication, user.getId());
+
             // Prepare response
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
@@ -1,6 +1,8 @@
 package com.lms.backend.controller;
 
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CourseRosterRow;
+import com.lms.backend.dto.CursorPage;
 import com.lms.backend.dto.LessonDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
@@ -55,6 +57,22 @@ public class InstructorController {
         return instructorService.getCourseWithStats(courseId);
     }
 
+    // Keyset-paginated roster: pass nextCursor back as cursor for the following page
+    @GetMapping("/courses/{courseId}/students")
+    public CursorPage<CourseRosterRow> getCourseRoster(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(defaultValue = "all") String band) {
+        return instructorService.getCourseRoster(courseId, cursor, size, sort, band);
+    }
+
+    @GetMapping("/courses/{courseId}/students/summary")
+    public Map<String, Object> getRosterSummary(@PathVariable Long courseId) {
+        return instructorService.getRosterSummary(courseId);
+    }
+
     @DeleteMapping("/courses/{id}")
     public String deleteCourse(@PathVariable Long id) {
         instructorService.deleteCourse(id);
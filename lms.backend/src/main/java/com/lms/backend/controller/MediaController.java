@@ -1,7 +1,10 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.exception.PayloadTooLargeException;
+import com.lms.backend.model.Lesson;
 import com.lms.backend.service.MediaStorageService;
 import com.lms.backend.service.LessonService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -9,6 +12,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/media")
@@ -46,6 +50,10 @@ public class MediaController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "File upload failed: " + e.getMessage());
@@ -53,6 +61,85 @@ public class MediaController {
         }
     }
 
+    // STREAMING UPLOAD: the request body is the file itself (Content-Type = the file's type). It goes to the
+    // media store while it is being received, without the multipart resolver spooling it first.
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, String>> streamUpload(
+            @RequestParam("courseId") Long courseId,
+            @RequestParam("lessonId") Long lessonId,
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request) {
+        try {
+            Lesson lesson = lessonService.getLessonById(lessonId);
+            if (!lesson.getCourse().getId().equals(courseId)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Lesson does not belong to course " + courseId));
+            }
+
+            String fileUrl = mediaStorageService.uploadStream(courseId, fileName, request.getContentType(),
+                    request.getInputStream(), request.getContentLengthLong());
+            lessonService.updateLessonMediaUrl(lessonId, fileUrl);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "File uploaded successfully");
+            response.put("fileUrl", fileUrl);
+            response.put("fileName", fileName);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (PayloadTooLargeException e) {
+            return ResponseEntity.status(413).body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "File upload failed: " + e.getMessage()));
+        }
+    }
+
+    // DIRECT UPLOAD, STEP 1: presigned PUT URL, the file goes from the browser straight to storage
+    @PostMapping("/direct-uploads")
+    public ResponseEntity<Map<String, Object>> createDirectUpload(@RequestBody DirectUploadRequest request) {
+        try {
+            if (request.getCourseId() == null || request.getSize() == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "courseId and size are required"));
+            }
+            return ResponseEntity.ok(mediaStorageService.createDirectUpload(
+                    request.getCourseId(), request.getFileName(), request.getContentType(), request.getSize()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (UnsupportedOperationException e) {
+            // e.g. local media store: the client uploads through /upload instead
+            return ResponseEntity.status(501).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Could not start upload: " + e.getMessage()));
+        }
+    }
+
+    // DIRECT UPLOAD, STEP 2: verify the stored object and attach it to the lesson
+    @PostMapping("/direct-uploads/complete")
+    public ResponseEntity<Map<String, String>> completeDirectUpload(@RequestBody CompleteDirectUploadRequest request) {
+        try {
+            if (request.getCourseId() == null || request.getLessonId() == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "courseId and lessonId are required"));
+            }
+            Lesson lesson = lessonService.getLessonById(request.getLessonId());
+            if (!lesson.getCourse().getId().equals(request.getCourseId())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Lesson does not belong to course " + request.getCourseId()));
+            }
+
+            String fileUrl = mediaStorageService.verifyDirectUpload(request.getCourseId(), request.getKey());
+            lessonService.updateLessonMediaUrl(request.getLessonId(), fileUrl);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "File uploaded successfully");
+            response.put("fileUrl", fileUrl);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "File upload failed: " + e.getMessage()));
+        }
+    }
+
     // ✅ DELETE MEDIA FILE
     @DeleteMapping("/delete")
     public ResponseEntity<Map<String, String>> deleteMedia(
@@ -70,4 +157,33 @@ public class MediaController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    public static class DirectUploadRequest {
+        private Long courseId;
+        private String fileName;
+        private String contentType;
+        private Long size;
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+        public String getContentType() { return contentType; }
+        public void setContentType(String contentType) { this.contentType = contentType; }
+        public Long getSize() { return size; }
+        public void setSize(Long size) { this.size = size; }
+    }
+
+    public static class CompleteDirectUploadRequest {
+        private Long courseId;
+        private Long lessonId;
+        private String key;
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+        public Long getLessonId() { return lessonId; }
+        public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+    }
+}
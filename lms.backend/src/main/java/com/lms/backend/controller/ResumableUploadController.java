@@ -0,0 +1,166 @@
+package com.lms.backend.controller;
+
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.UploadSession;
+import com.lms.backend.service.LessonService;
+import com.lms.backend.service.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Resumable lesson media uploads:
+ * POST starts a session, PUT /{id}/chunks/{index} sends chunk after chunk (raw bytes),
+ * GET /{id} tells where to resume, POST /{id}/complete assembles the file and attaches it to the lesson.
+ */
+@RestController
+@RequestMapping("/api/media/resumable-uploads")
+@CrossOrigin(origins = "*")
+public class ResumableUploadController {
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startUpload(@RequestBody StartUploadRequest request) {
+        try {
+            if (request.getCourseId() == null || request.getLessonId() == null || request.getSize() == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "courseId, lessonId and size are required"));
+            }
+            Lesson lesson = lessonService.getLessonById(request.getLessonId());
+            if (!lesson.getCourse().getId().equals(request.getCourseId())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Lesson does not belong to course " + request.getCourseId()));
+            }
+
+            UploadSession session = resumableUploadService.startUpload(request.getCourseId(), request.getLessonId(),
+                    request.getFileName(), request.getContentType(), request.getSize());
+            return ResponseEntity.status(201).body(toResponse(session));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Could not start upload: " + e.getMessage()));
+        }
+    }
+
+    // Offset query: the client resumes with the chunk that starts at "offset"
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> getUpload(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(toResponse(resumableUploadService.getSession(uploadId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Body is the raw chunk (application/octet-stream) with a Content-Length of exactly one chunk
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<Map<String, Object>> uploadChunk(@PathVariable String uploadId,
+                                                           @PathVariable int index,
+                                                           HttpServletRequest request) {
+        try {
+            long offset = resumableUploadService.writeChunk(uploadId, index, request.getInputStream(),
+                    request.getContentLengthLong());
+            return ResponseEntity.ok(Map.of("uploadId", uploadId, "offset", offset));
+        } catch (Exception e) {
+            return errorResponse(uploadId, e, "Chunk upload failed: ");
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<Map<String, Object>> completeUpload(@PathVariable String uploadId) {
+        try {
+            UploadSession session = resumableUploadService.getSession(uploadId);
+            String fileUrl = resumableUploadService.completeUpload(uploadId);
+            lessonService.updateLessonMediaUrl(session.getLessonId(), fileUrl);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "File uploaded successfully");
+            response.put("fileUrl", fileUrl);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(uploadId, e, "File upload failed: ");
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> abortUpload(@PathVariable String uploadId) {
+        try {
+            resumableUploadService.abortUpload(uploadId);
+            return ResponseEntity.ok(Map.of("message", "Upload cancelled"));
+        } catch (Exception e) {
+            return errorResponse(uploadId, e, "Could not cancel upload: ");
+        }
+    }
+
+    // 409 carries the current offset, so the client can resume without another round trip
+    private ResponseEntity<Map<String, Object>> errorResponse(String uploadId, Exception e, String prefix) {
+        if (e instanceof ResourceNotFoundException) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        if (e instanceof RejectedExecutionException) {
+            // All upload slots busy; nothing was written, the client retries the same chunk
+            return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", e.getMessage()));
+        }
+        if (e instanceof IllegalStateException) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            try {
+                UploadSession session = resumableUploadService.getSession(uploadId);
+                response.put("offset", session.getReceivedBytes());
+                response.put("status", session.getStatus());
+            } catch (ResourceNotFoundException ignored) {
+                // Session is gone, the error says enough
+            }
+            return ResponseEntity.status(409).body(response);
+        }
+        return ResponseEntity.status(500).body(Map.of("error", prefix + e.getMessage()));
+    }
+
+    private Map<String, Object> toResponse(UploadSession session) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("uploadId", session.getId());
+        response.put("courseId", session.getCourseId());
+        response.put("lessonId", session.getLessonId());
+        response.put("key", session.getObjectKey());
+        response.put("size", session.getTotalSize());
+        response.put("chunkSize", session.getChunkSize());
+        response.put("offset", session.getReceivedBytes());
+        response.put("status", session.getStatus());
+        response.put("expiresAt", session.getExpiresAt());
+        if (session.getFileUrl() != null) {
+            response.put("fileUrl", session.getFileUrl());
+        }
+        return response;
+    }
+
+    public static class StartUploadRequest {
+        private Long courseId;
+        private Long lessonId;
+        private String fileName;
+        private String contentType;
+        private Long size;
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+        public Long getLessonId() { return lessonId; }
+        public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+        public String getContentType() { return contentType; }
+        public void setContentType(String contentType) { this.contentType = contentType; }
+        public Long getSize() { return size; }
+        public void setSize(Long size) { this.size = size; }
+    }
+}
@@ -1,11 +1,16 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.dto.CourseCardDto;
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CourseProgressDto;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.dto.ProgressSyncItem;
+import com.lms.backend.dto.ProgressSyncResult;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Enrollment;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.model.User;
-import com.lms.backend.service.AuthService;
+import com.lms.backend.security.CurrentUser;
 import com.lms.backend.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,15 +28,11 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
-    @Autowired
-    private AuthService authService;
-
 
     // Enroll student in a course Prevents duplicate enrollments
     @PostMapping("/enroll/{courseId}")
-    public ResponseEntity<?> enrollCourse(@PathVariable Long courseId) {
+    public ResponseEntity<?> enrollCourse(@CurrentUser User currentUser, @PathVariable Long courseId) {
         try {
-            User currentUser = authService.getCurrentUser();
             studentService.enrollCourse(currentUser, courseId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -48,8 +49,7 @@ public class StudentController {
 
      // Get all enrolled courses for current student
     @GetMapping("/my-courses")
-    public ResponseEntity<List<CourseDto>> getMyCourses() {
-        User currentUser = authService.getCurrentUser();
+    public ResponseEntity<List<CourseDto>> getMyCourses(@CurrentUser User currentUser) {
         List<Course> enrolledCourses = studentService.getEnrolledCourses(currentUser);
         // ✅Convert to DTO to avoid lazy loading issues
         List<CourseDto> courseDtos = enrolledCourses.stream()
@@ -69,7 +69,7 @@ public class StudentController {
                 .level(course.getLevel())
                 .duration(course.getDuration())
                 .rating(course.getRating())
-                .totalStudents(course.getTotalStudents())
+                .totalStudents(course.getEnrollmentCount())
                 .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
                 .categoryName(course.getCategory() != null ? course.getCategory().getName() : null)
                 .instructorId(course.getInstructor().getId())
@@ -79,9 +79,8 @@ public class StudentController {
 
      // Get course details with enrollment info
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<?> getCourseWithProgress(@PathVariable Long courseId) {
+    public ResponseEntity<?> getCourseWithProgress(@CurrentUser User currentUser, @PathVariable Long courseId) {
         try {
-            User currentUser = authService.getCurrentUser();
             Map<String, Object> courseWithProgress = studentService.getCourseWithProgress(currentUser, courseId);
             return ResponseEntity.ok(courseWithProgress);
         } catch (RuntimeException e) {
@@ -92,10 +91,10 @@ public class StudentController {
      // Mark lesson as completed
     @PostMapping("/course/{courseId}/lesson/{lessonId}/complete")
     public ResponseEntity<?> markLessonCompleted(
+            @CurrentUser User currentUser,
             @PathVariable Long courseId,
             @PathVariable Long lessonId) {
         try {
-            User currentUser = authService.getCurrentUser();
             studentService.markLessonCompleted(currentUser, courseId, lessonId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -109,33 +108,74 @@ public class StudentController {
         }
     }
 
+     // Bulk upload of lesson completions made offline
+    @PostMapping("/progress/sync")
+    public ResponseEntity<ProgressSyncResult> syncProgress(
+            @CurrentUser User currentUser,
+            @RequestBody List<ProgressSyncItem> items) {
+        return ResponseEntity.ok(studentService.syncProgress(currentUser, items));
+    }
+
+     // Lesson player heartbeat (every ~15s while a lesson is open)
+    @PostMapping("/course/{courseId}/lesson/{lessonId}/heartbeat")
+    public ResponseEntity<?> lessonHeartbeat(
+            @CurrentUser User currentUser,
+            @PathVariable Long courseId,
+            @PathVariable Long lessonId,
+            @RequestParam(defaultValue = "15") int seconds) {
+        boolean accepted = studentService.recordLessonHeartbeat(currentUser, courseId, lessonId, seconds);
+        if (!accepted) {
+            // Buffer full, client should back off until the next flush
+            return ResponseEntity.status(429)
+                    .header("Retry-After", "15")
+                    .body(Map.of("success", false, "message", "Too many heartbeats, retry later"));
+        }
+        return ResponseEntity.accepted().build();
+    }
+
      // Get student learning statistics
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getLearningStats() {
-        User currentUser = authService.getCurrentUser();
+    public ResponseEntity<Map<String, Object>> getLearningStats(@CurrentUser User currentUser) {
         Map<String, Object> stats = studentService.getLearningStats(currentUser);
         return ResponseEntity.ok(stats);
     }
 
      // Get course progress
     @GetMapping("/course/{courseId}/progress")
-    public ResponseEntity<Map<String, Object>> getCourseProgress(@PathVariable Long courseId) {
-        User currentUser = authService.getCurrentUser();
-        Map<String, Object> progress = studentService.getCourseProgress(currentUser, courseId);
+    public ResponseEntity<CourseProgressDto> getCourseProgress(@CurrentUser User currentUser, @PathVariable Long courseId) {
+        CourseProgressDto progress = studentService.getCourseProgress(currentUser, courseId);
         return ResponseEntity.ok(progress);
     }
 
      // Get available courses (not enrolled)
     @GetMapping("/courses/available")
-    public ResponseEntity<List<Course>> getAvailableCourses() {
-        User currentUser = authService.getCurrentUser();
+    public ResponseEntity<List<Course>> getAvailableCourses(@CurrentUser User currentUser) {
         List<Course> availableCourses = studentService.getAvailableCourses(currentUser);
         return ResponseEntity.ok(availableCourses);
     }
 
+    // Paginated available courses (not enrolled), same cursor format as /catalog/page
+    @GetMapping("/courses/available/page")
+    public CursorPage<CourseCardDto> getAvailableCoursesPage(
+            @CurrentUser User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return studentService.getAvailableCoursesPage(currentUser, cursor, size);
+    }
+
     // Get Avail Categories
     @GetMapping("/catalog")
-    public List<Course> getCourseCatalog() {
-        return studentService.getCourseCatalog();
+    public List<CourseDto> getCourseCatalog(@RequestParam(required = false) Long categoryId) {
+        return categoryId != null
+                ? studentService.getCourseCatalogByCategory(categoryId)
+                : studentService.getCourseCatalog();
+    }
+
+    // Paginated catalog cards: pass nextCursor from the previous page to continue
+    @GetMapping("/catalog/page")
+    public CursorPage<CourseCardDto> getCatalogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return studentService.getCatalogPage(cursor, size);
     }
-}
\ No newline at end of file
+}
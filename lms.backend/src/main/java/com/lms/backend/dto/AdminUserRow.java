@@ -0,0 +1,19 @@
+package com.lms.backend.dto;
+
+import com.lms.backend.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of the admin user listing, projected straight from the query (no entity graph)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminUserRow {
+    private Long id;
+    private String username;
+    private String email;
+    private Role.RoleName role;
+}
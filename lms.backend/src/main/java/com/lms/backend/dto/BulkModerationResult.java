@@ -0,0 +1,20 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkModerationResult {
+    private int requested;
+    // Courses actually approved / rejected by this batch
+    private int applied;
+    // courseId -> APPROVED | REJECTED | ALREADY_APPROVED | NOT_FOUND, in request order
+    private Map<Long, String> outcomes;
+}
@@ -0,0 +1,31 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Catalog card projection: only the fields CourseCard.jsx renders (no lessons / enrollments)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseCardDto {
+    private Long id;
+    private String title;
+    private String description;
+    private String coverImageUrl;
+    private Double price;
+    private String level;
+    private Double rating;
+    // Course.enrollmentCount
+    private Integer totalStudents;
+    private String duration;
+    private Long categoryId;
+    private String categoryName;
+    private Long instructorId;
+    private String instructorName;
+    private LocalDateTime createdAt;
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class CourseDto {
     private Long id;
     private String title;
@@ -25,6 +25,7 @@ public class CourseDto {
     private String category;
     private String level;
     private Double rating;
+    // Course.enrollmentCount; read-only, clients cannot set it
     private Integer totalStudents;
     private String duration;
     private Double price;
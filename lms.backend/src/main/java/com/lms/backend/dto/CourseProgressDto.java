@@ -0,0 +1,35 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Response of /api/student/course/{courseId}/progress
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseProgressDto {
+    private Long courseId;
+    private String courseTitle;
+    private Long enrollmentId;
+    private LocalDateTime enrolledAt;
+    private Double progressPercentage;
+    private int totalLessons;
+    private long completedLessons;
+    private List<LessonProgressItemDto> lessons;
+
+    // Header projection (EnrollmentRepository.findProgressHeader), lessons are filled in afterwards
+    public CourseProgressDto(Long courseId, String courseTitle, Long enrollmentId,
+                             LocalDateTime enrolledAt, Double progressPercentage) {
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.enrollmentId = enrollmentId;
+        this.enrolledAt = enrolledAt;
+        this.progressPercentage = progressPercentage;
+    }
+}
@@ -0,0 +1,26 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One enrolled student on an instructor's course roster, projected straight from the query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseRosterRow {
+    private Long enrollmentId;
+    private Long studentId;
+    private String username;
+    private String email;
+    private LocalDateTime enrolledAt;
+    private Double progress;
+    private Integer completedLessons;
+    private Integer totalLessons;
+    // Latest lesson access in this course, null if the student never opened a lesson
+    private LocalDateTime lastActivityAt;
+}
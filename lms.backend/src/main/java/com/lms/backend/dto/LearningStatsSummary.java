@@ -0,0 +1,19 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One-row aggregate of a student's enrollments (EnrollmentRepository.summarizeLearningStats)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LearningStatsSummary {
+    private Long totalCourses;
+    private Long completedCourses;
+    private Long inProgressCourses;
+    private Long completedLessons;
+    private Double averageProgress;
+}
@@ -0,0 +1,16 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LearningStreakDto {
+    // Consecutive active days ending today (or yesterday, if not active yet today)
+    private int currentStreak;
+    private int longestStreak;
+}
@@ -0,0 +1,22 @@
+package com.lms.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One lesson row of the progress view, completion comes from the LEFT JOIN in LessonRepository.findProgressItems
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LessonProgressItemDto {
+    private Long id;
+    private String title;
+    private Integer duration;
+    private Integer position;
+
+    @JsonProperty("isCompleted")
+    private boolean completed;
+}
@@ -0,0 +1,20 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One offline lesson completion uploaded through /api/student/progress/sync
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgressSyncItem {
+    private Long courseId;
+    private Long lessonId;
+    private LocalDateTime completedAt; // defaults to now, future values are clamped
+    private Integer timeSpent; // in min, capped and added only if the lesson was not completed yet
+}
@@ -0,0 +1,21 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgressSyncResult {
+    private int accepted;
+    // Lessons that were not completed before this sync
+    private int newlyCompleted;
+    // lessonId + reason for every item that was skipped
+    private List<Map<String, Object>> rejected;
+}
@@ -0,0 +1,10 @@
+package com.lms.backend.event;
+
+import com.lms.backend.model.ActivityEvent.ActivityType;
+
+/**
+ * Published by writes that belong in the admin activity feed. Persisted in the
+ * publisher's transaction and shown in the feed once it commits (see ActivityFeed).
+ */
+public record ActivityOccurredEvent(ActivityType type, Long actorId, Long courseId, String message) {
+}
@@ -0,0 +1,40 @@
+package com.lms.backend.event;
+
+import com.lms.backend.model.Course;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published after a write that can change what the approved catalog shows.
+ * categoryIds are the categories whose catalog entries are affected
+ * (the all-courses entry is always affected).
+ */
+public record CourseCatalogChangedEvent(Set<Long> categoryIds) {
+
+    public static CourseCatalogChangedEvent forCourse(Course course) {
+        return forCourses(course != null ? List.of(course) : List.of());
+    }
+
+    public static CourseCatalogChangedEvent forCourses(Collection<Course> courses) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (Course course : courses) {
+            if (course.getCategory() != null) {
+                categoryIds.add(course.getCategory().getId());
+            }
+        }
+        return new CourseCatalogChangedEvent(categoryIds);
+    }
+
+    public static CourseCatalogChangedEvent forCategories(Long... categoryIds) {
+        Set<Long> ids = new HashSet<>();
+        for (Long categoryId : categoryIds) {
+            if (categoryId != null) {
+                ids.add(categoryId);
+            }
+        }
+        return new CourseCatalogChangedEvent(ids);
+    }
+}
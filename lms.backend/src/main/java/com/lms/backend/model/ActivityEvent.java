@@ -0,0 +1,43 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only log behind the admin activity feed
+@Entity
+@Table(name = "activity_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private ActivityType type;
+
+    // Plain ids, the feed never joins back to users / courses
+    private Long actorId;
+    private Long courseId;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum ActivityType {
+        USER_REGISTERED,
+        ENROLLED,
+        COURSE_CREATED,
+        COURSE_APPROVED,
+        COURSE_REJECTED,
+        LESSON_COMPLETED
+    }
+}
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses",
+        indexes = {
+                // Keyset pagination of the approved catalog
+                @Index(name = "idx_courses_catalog", columnList = "approved, created_at, id")
+        })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -29,9 +33,20 @@ public class Course {
     private LocalDateTime updatedAt;
     private String level;
     private Double rating = 0.0;
-    private Integer totalStudents = 0;
     private String duration;
 
+    // Denormalized COUNT of enrollments, only changed through CourseRepository bulk updates.
+    // DTOs expose it as totalStudents.
+    @Column(name = "enrollment_count", updatable = false)
+    @Builder.Default
+    private Integer enrollmentCount = 0;
+
+    // Set when a DeletionJob takes the course over; only changed through bulk updates
+    @Column(name = "pending_delete", updatable = false)
+    @Builder.Default
+    @JsonIgnore
+    private Boolean pendingDelete = false;
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
@@ -53,6 +68,8 @@ public class Course {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        enrollmentCount = 0;
+        pendingDelete = false;
     }
 
     @PreUpdate
@@ -60,7 +77,12 @@ public class Course {
         updatedAt = LocalDateTime.now();
     }
 
+    // Reads the counter column, never initializes the enrollments collection
     public int getEnrollmentCount() {
-        return this.enrollments != null ? this.enrollments.size() : 0;
+        return this.enrollmentCount != null ? this.enrollmentCount : 0;
+    }
+
+    public boolean isPendingDelete() {
+        return Boolean.TRUE.equals(this.pendingDelete);
     }
-}
\ No newline at end of file
+}
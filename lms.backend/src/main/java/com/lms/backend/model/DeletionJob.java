@@ -0,0 +1,61 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Background removal of a course or user and everything that hangs off it, see DeletionJobService
+@Entity
+@Table(name = "deletion_jobs",
+        indexes = @Index(name = "idx_deletion_jobs_status", columnList = "status, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private TargetType targetType;
+
+    @Column(nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Status status;
+
+    // What the last chunk removed, e.g. "enrollments" or "lessons"
+    private String phase;
+
+    private long rowsDeleted;
+    private long mediaDeleted;
+    private int chunks;
+
+    // Failed chunks in a row; the job gives up after deletion.max-attempts
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public enum TargetType {
+        COURSE,
+        USER
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
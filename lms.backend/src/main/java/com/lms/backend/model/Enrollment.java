@@ -11,6 +11,11 @@ import java.time.LocalDateTime;
 @Table(name = "enrollments",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"student_id", "course_id"})
+        },
+        indexes = {
+                // Instructor roster keyset pages: newest enrollments, and by progress (also serves band filters)
+                @Index(name = "idx_enrollments_course_id", columnList = "course_id, id"),
+                @Index(name = "idx_enrollments_course_progress", columnList = "course_id, progress, id")
         })
 @Data
 @NoArgsConstructor
@@ -42,6 +47,15 @@ public class Enrollment {
     // progress percent (0-100)
     private Double progress = 0.0;
 
+    // Counters behind progress, kept in step by EnrollmentRepository updates
+    @Column(name = "completed_lessons")
+    @Builder.Default
+    private Integer completedLessons = 0;
+
+    @Column(name = "total_lessons")
+    @Builder.Default
+    private Integer totalLessons = 0;
+
 //    @PrePersist
 //    protected void prePersist() {
 //        if (enrolledAt == null) {
@@ -0,0 +1,34 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per student per calendar year. Bit (dayOfYear - 1) of activeDays is
+ * set when the student was active that day (BitSet.toByteArray layout, at most 46 bytes).
+ */
+@Entity
+@Table(name = "student_activity",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"student_id", "activity_year"})
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id, recording activity never needs the user row
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "activity_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "active_days", nullable = false, length = 46)
+    private byte[] activeDays;
+}
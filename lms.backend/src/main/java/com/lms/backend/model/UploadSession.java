@@ -0,0 +1,66 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Resumable (chunked) lesson media upload, see ResumableUploadService
+@Entity
+@Table(name = "upload_sessions",
+        indexes = @Index(name = "idx_upload_sessions_status_expires", columnList = "status, expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    // Random UUID; it is also the client's handle, so it must not be guessable
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false)
+    private Long lessonId;
+
+    // Final media key, course_{id}/{uuid}_{name}
+    @Column(name = "object_key", length = 500, nullable = false)
+    private String objectKey;
+
+    @Column(length = 100)
+    private String contentType;
+
+    private long totalSize;
+    private int chunkSize;
+
+    // Bytes stored so far; always a multiple of chunkSize until the last chunk arrives
+    private long receivedBytes;
+
+    // Where the chunks are staged: the S3 multipart upload id, or a directory for the local store
+    @Column(length = 500)
+    private String stagingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Status status;
+
+    @Column(length = 1000)
+    private String fileUrl;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Pushed back with every chunk; the sweeper aborts sessions that get past it
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        ACTIVE,
+        ASSEMBLING,
+        COMPLETED,
+        ABORTED,
+        EXPIRED
+    }
+}
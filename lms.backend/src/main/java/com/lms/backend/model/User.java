@@ -13,6 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // current user may be a lazy reference
 public class User {
 
     @Id
@@ -28,6 +29,11 @@ public class User {
     @JsonIgnore
     private String password;
 
+    // Set when a DeletionJob takes the user over; the account is locked out from then on
+    @Column(name = "pending_delete", updatable = false)
+    @JsonIgnore
+    private Boolean pendingDelete;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "role_id")
     @JsonIgnoreProperties({"users"}) // Prevent Infinite loop
@@ -42,4 +48,8 @@ public class User {
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Enrollment> enrollments;
-}
\ No newline at end of file
+
+    public boolean isPendingDelete() {
+        return Boolean.TRUE.equals(this.pendingDelete);
+    }
+}
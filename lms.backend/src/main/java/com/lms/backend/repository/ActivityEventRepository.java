@@ -0,0 +1,15 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.ActivityEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ActivityEventRepository extends JpaRepository<ActivityEvent, Long> {
+
+    // Newest first, by primary key (no extra index needed)
+    List<ActivityEvent> findByOrderByIdDesc(Pageable pageable);
+}
@@ -1,12 +1,17 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.CourseCardDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +26,94 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
     int countEnrollmentsByCourseId(@Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    // [approved, count]
+    @Query("SELECT c.approved, COUNT(c) FROM Course c " +
+            "WHERE c.pendingDelete IS NULL OR c.pendingDelete = false GROUP BY c.approved")
+    List<Object[]> countCoursesByApproved();
+
+    // Atomic in-place change of the enrollment counter (no read-modify-write)
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = COALESCE(c.enrollmentCount, 0) + :delta WHERE c.id = :courseId")
+    int adjustEnrollmentCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    // Repairs counters that drifted from the real enrollments count
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c) " +
+            "WHERE c.enrollmentCount IS NULL " +
+            "OR c.enrollmentCount <> (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c)")
+    int reconcileEnrollmentCounts();
+
+    // Catalog cards, newest first, keyset over (createdAt, id) - see idx_courses_catalog
+    @Query("SELECT new com.lms.backend.dto.CourseCardDto(c.id, c.title, c.description, c.coverImageUrl, " +
+            "c.price, c.level, c.rating, COALESCE(c.enrollmentCount, 0), c.duration, cat.id, cat.name, i.id, i.username, c.createdAt) " +
+            "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.instructor i " +
+            "WHERE c.approved = true " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseCardDto> findCatalogCards(Pageable pageable);
+
+    @Query("SELECT new com.lms.backend.dto.CourseCardDto(c.id, c.title, c.description, c.coverImageUrl, " +
+            "c.price, c.level, c.rating, COALESCE(c.enrollmentCount, 0), c.duration, cat.id, cat.name, i.id, i.username, c.createdAt) " +
+            "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.instructor i " +
+            "WHERE c.approved = true " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseCardDto> findCatalogCardsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // Approved courses the student is not enrolled in (anti-join on the enrollments unique key)
+    @Query("SELECT c FROM Course c WHERE c.approved = true " +
+            "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId)")
+    List<Course> findAvailableForStudent(@Param("studentId") Long studentId);
+
+    @Query("SELECT new com.lms.backend.dto.CourseCardDto(c.id, c.title, c.description, c.coverImageUrl, " +
+            "c.price, c.level, c.rating, COALESCE(c.enrollmentCount, 0), c.duration, cat.id, cat.name, i.id, i.username, c.createdAt) " +
+            "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.instructor i " +
+            "WHERE c.approved = true " +
+            "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseCardDto> findAvailableCards(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query("SELECT new com.lms.backend.dto.CourseCardDto(c.id, c.title, c.description, c.coverImageUrl, " +
+            "c.price, c.level, c.rating, COALESCE(c.enrollmentCount, 0), c.duration, cat.id, cat.name, i.id, i.username, c.createdAt) " +
+            "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.instructor i " +
+            "WHERE c.approved = true " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseCardDto> findAvailableCardsAfter(@Param("studentId") Long studentId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    // [courseId, approved, title, categoryId] for a moderation batch, one select for all outcomes.
+    // Courses being deleted are left out and so reported as NOT_FOUND
+    @Query("SELECT c.id, c.approved, c.title, cat.id FROM Course c LEFT JOIN c.category cat " +
+            "WHERE c.id IN :ids AND (c.pendingDelete IS NULL OR c.pendingDelete = false)")
+    List<Object[]> findModerationStates(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.approved = true " +
+            "WHERE c.id IN :ids AND c.approved = false AND (c.pendingDelete IS NULL OR c.pendingDelete = false)")
+    int approvePending(@Param("ids") Collection<Long> ids);
+
+    // Hides the courses right away (unapproved, out of every listing); DeletionJobService removes them later
+    @Modifying
+    @Query("UPDATE Course c SET c.pendingDelete = true, c.approved = false " +
+            "WHERE c.id IN :ids AND (c.pendingDelete IS NULL OR c.pendingDelete = false)")
+    int markPendingDelete(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Course c WHERE c.instructor.id = :instructorId")
+    List<Long> findIdsByInstructorId(@Param("instructorId") Long instructorId);
+
+    @Query("SELECT DISTINCT c.category.id FROM Course c WHERE c.id IN :ids AND c.category IS NOT NULL")
+    List<Long> findCategoryIds(@Param("ids") Collection<Long> ids);
+
+    // Admin approval queue, without courses that are being deleted
+    @Query("SELECT c FROM Course c WHERE c.approved = false AND (c.pendingDelete IS NULL OR c.pendingDelete = false)")
+    List<Course> findAwaitingApproval();
+
+    @Query("SELECT c FROM Course c WHERE c.instructor = :instructor AND (c.pendingDelete IS NULL OR c.pendingDelete = false)")
+    List<Course> findActiveByInstructor(@Param("instructor") User instructor);
+}
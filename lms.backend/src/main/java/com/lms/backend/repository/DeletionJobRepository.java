@@ -0,0 +1,23 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.DeletionJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    // Oldest unfinished jobs first
+    List<DeletionJob> findByStatusInOrderByIdAsc(Collection<DeletionJob.Status> statuses, Pageable pageable);
+
+    Optional<DeletionJob> findFirstByTargetTypeAndTargetIdAndStatusIn(DeletionJob.TargetType targetType,
+                                                                      Long targetId,
+                                                                      Collection<DeletionJob.Status> statuses);
+
+    List<DeletionJob> findByOrderByIdDesc(Pageable pageable);
+}
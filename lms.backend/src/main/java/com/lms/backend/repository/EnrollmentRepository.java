@@ -1,13 +1,19 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.CourseProgressDto;
+import com.lms.backend.dto.CourseRosterRow;
+import com.lms.backend.dto.LearningStatsSummary;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Enrollment;
 import com.lms.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +28,143 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     @Query("SELECT e.course FROM Enrollment e WHERE e.student.id = :studentId")
     List<Course> findCoursesByStudentId(@Param("studentId") Long studentId);
-}
\ No newline at end of file
+
+    // Revenue = price of the course behind every enrollment
+    @Query("SELECT COALESCE(SUM(COALESCE(c.price, 0.0)), 0.0) FROM Enrollment e JOIN e.course c")
+    Double sumEnrolledCoursePrices();
+
+    // Everything /api/student/stats needs in one round trip, using the stored lesson counters
+    @Query("SELECT new com.lms.backend.dto.LearningStatsSummary(" +
+            "COUNT(e), " +
+            "COALESCE(SUM(CASE WHEN e.progress >= 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN e.progress > 0 AND e.progress < 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(COALESCE(e.completedLessons, 0)), 0), " +
+            "COALESCE(AVG(COALESCE(e.progress, 0.0)), 0.0)) " +
+            "FROM Enrollment e WHERE e.student.id = :studentId")
+    LearningStatsSummary summarizeLearningStats(@Param("studentId") Long studentId);
+
+    // Course and stored enrollment progress, empty when the student is not enrolled
+    @Query("SELECT new com.lms.backend.dto.CourseProgressDto(c.id, c.title, e.id, e.enrolledAt, e.progress) " +
+            "FROM Enrollment e JOIN e.course c WHERE c.id = :courseId AND e.student.id = :studentId")
+    Optional<CourseProgressDto> findProgressHeader(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    // Shared pieces of the roster queries below
+    String ROSTER_LAST_ACTIVITY = "(SELECT MAX(lp.lastAccessedAt) FROM LessonProgress lp " +
+            "WHERE lp.student = s AND lp.lesson.course.id = :courseId)";
+
+    String ROSTER_FILTER = "AND e.progress >= :minProgress AND e.progress < :maxProgress " +
+            "AND (s.pendingDelete IS NULL OR s.pendingDelete = false) ";
+
+    // Instructor roster of a course: progress band is [minProgress, maxProgress), last activity is
+    // only looked up for the rows of the page. Keyset pages, newest enrollment first (afterId = Long.MAX_VALUE first).
+    @Query("SELECT new com.lms.backend.dto.CourseRosterRow(e.id, s.id, s.username, s.email, e.enrolledAt, " +
+            "e.progress, e.completedLessons, e.totalLessons, " + ROSTER_LAST_ACTIVITY + ") " +
+            "FROM Enrollment e JOIN e.student s " +
+            "WHERE e.course.id = :courseId " + ROSTER_FILTER +
+            "AND e.id < :afterId " +
+            "ORDER BY e.id DESC")
+    List<CourseRosterRow> findRosterByRecent(@Param("courseId") Long courseId,
+                                             @Param("minProgress") double minProgress,
+                                             @Param("maxProgress") double maxProgress,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // Highest progress first; first page: afterProgress = Double.MAX_VALUE, afterId = Long.MAX_VALUE
+    @Query("SELECT new com.lms.backend.dto.CourseRosterRow(e.id, s.id, s.username, s.email, e.enrolledAt, " +
+            "e.progress, e.completedLessons, e.totalLessons, " + ROSTER_LAST_ACTIVITY + ") " +
+            "FROM Enrollment e JOIN e.student s " +
+            "WHERE e.course.id = :courseId " + ROSTER_FILTER +
+            "AND (e.progress < :afterProgress OR (e.progress = :afterProgress AND e.id < :afterId)) " +
+            "ORDER BY e.progress DESC, e.id DESC")
+    List<CourseRosterRow> findRosterByProgressDesc(@Param("courseId") Long courseId,
+                                                   @Param("minProgress") double minProgress,
+                                                   @Param("maxProgress") double maxProgress,
+                                                   @Param("afterProgress") double afterProgress,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    // Lowest progress first; first page: afterProgress = -1, afterId = 0
+    @Query("SELECT new com.lms.backend.dto.CourseRosterRow(e.id, s.id, s.username, s.email, e.enrolledAt, " +
+            "e.progress, e.completedLessons, e.totalLessons, " + ROSTER_LAST_ACTIVITY + ") " +
+            "FROM Enrollment e JOIN e.student s " +
+            "WHERE e.course.id = :courseId " + ROSTER_FILTER +
+            "AND (e.progress > :afterProgress OR (e.progress = :afterProgress AND e.id > :afterId)) " +
+            "ORDER BY e.progress ASC, e.id ASC")
+    List<CourseRosterRow> findRosterByProgressAsc(@Param("courseId") Long courseId,
+                                                  @Param("minProgress") double minProgress,
+                                                  @Param("maxProgress") double maxProgress,
+                                                  @Param("afterProgress") double afterProgress,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    // [students, completed, inProgress, averageProgress] for the roster header
+    @Query("SELECT COUNT(e), " +
+            "COALESCE(SUM(CASE WHEN e.progress >= 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN e.progress > 0 AND e.progress < 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(AVG(COALESCE(e.progress, 0.0)), 0.0) " +
+            "FROM Enrollment e JOIN e.student s WHERE e.course.id = :courseId " +
+            "AND (s.pendingDelete IS NULL OR s.pendingDelete = false)")
+    List<Object[]> summarizeRoster(@Param("courseId") Long courseId);
+
+    // Enrollment id if the lesson belongs to the course and the student is enrolled in it
+    @Query("SELECT e.id FROM Enrollment e, Lesson l " +
+            "WHERE l.id = :lessonId AND l.course.id = :courseId " +
+            "AND e.course.id = :courseId AND e.student.id = :studentId")
+    Optional<Long> findEnrollmentIdForLesson(@Param("studentId") Long studentId,
+                                             @Param("courseId") Long courseId,
+                                             @Param("lessonId") Long lessonId);
+
+    // One more lesson completed: progress is assigned first so it reads the old counter on every database
+    @Modifying
+    @Query("UPDATE Enrollment e SET " +
+            "e.progress = CASE WHEN COALESCE(e.totalLessons, 0) = 0 THEN 0.0 " +
+            "WHEN COALESCE(e.completedLessons, 0) + 1 >= e.totalLessons THEN 100.0 " +
+            "ELSE (COALESCE(e.completedLessons, 0) + 1) * 100.0 / e.totalLessons END, " +
+            "e.completedLessons = COALESCE(e.completedLessons, 0) + 1 " +
+            "WHERE e.id = :enrollmentId")
+    int incrementCompletedLessons(@Param("enrollmentId") Long enrollmentId);
+
+    // Recount both counters for every enrollment of a course (lessons added or removed)
+    @Modifying
+    @Query("UPDATE Enrollment e SET " +
+            "e.totalLessons = (SELECT COUNT(l) FROM Lesson l WHERE l.course = e.course), " +
+            "e.completedLessons = (SELECT COUNT(lp) FROM LessonProgress lp " +
+            "WHERE lp.student = e.student AND lp.lesson.course = e.course AND lp.completed = true) " +
+            "WHERE e.course.id = :courseId")
+    int recountLessonCounters(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.progress = CASE WHEN COALESCE(e.totalLessons, 0) = 0 THEN 0.0 " +
+            "ELSE e.completedLessons * 100.0 / e.totalLessons END " +
+            "WHERE e.course.id = :courseId")
+    int refreshProgress(@Param("courseId") Long courseId);
+
+    // Same two steps for one student's enrollments in the given courses (bulk progress sync)
+    @Modifying
+    @Query("UPDATE Enrollment e SET " +
+            "e.totalLessons = (SELECT COUNT(l) FROM Lesson l WHERE l.course = e.course), " +
+            "e.completedLessons = (SELECT COUNT(lp) FROM LessonProgress lp " +
+            "WHERE lp.student = e.student AND lp.lesson.course = e.course AND lp.completed = true) " +
+            "WHERE e.student.id = :studentId AND e.course.id IN :courseIds")
+    int recountLessonCountersForStudent(@Param("studentId") Long studentId,
+                                        @Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.progress = CASE WHEN COALESCE(e.totalLessons, 0) = 0 THEN 0.0 " +
+            "ELSE e.completedLessons * 100.0 / e.totalLessons END " +
+            "WHERE e.student.id = :studentId AND e.course.id IN :courseIds")
+    int refreshProgressForStudent(@Param("studentId") Long studentId,
+                                  @Param("courseIds") Collection<Long> courseIds);
+
+    // Repairs counters that drifted (or predate the columns); progress itself is left alone
+    @Modifying
+    @Query("UPDATE Enrollment e SET " +
+            "e.totalLessons = (SELECT COUNT(l) FROM Lesson l WHERE l.course = e.course), " +
+            "e.completedLessons = (SELECT COUNT(lp) FROM LessonProgress lp " +
+            "WHERE lp.student = e.student AND lp.lesson.course = e.course AND lp.completed = true) " +
+            "WHERE e.totalLessons IS NULL OR e.completedLessons IS NULL " +
+            "OR e.totalLessons <> (SELECT COUNT(l) FROM Lesson l WHERE l.course = e.course) " +
+            "OR e.completedLessons <> (SELECT COUNT(lp) FROM LessonProgress lp " +
+            "WHERE lp.student = e.student AND lp.lesson.course = e.course AND lp.completed = true)")
+    int reconcileLessonCounters();
+}
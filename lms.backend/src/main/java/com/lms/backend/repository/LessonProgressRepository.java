@@ -5,9 +5,13 @@ import com.lms.backend.model.Lesson;
 import com.lms.backend.model.LessonProgress;
 import com.lms.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,21 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
 
     @Query("SELECT COUNT(lp) FROM LessonProgress lp WHERE lp.student = :student AND lp.lesson.course = :course AND lp.completed = true")
     int countCompletedLessons(User student, Course course);
+
+    // [lessonId, completed] of the student's existing progress rows among the given lessons
+    @Query("SELECT lp.lesson.id, lp.completed FROM LessonProgress lp " +
+            "WHERE lp.student.id = :studentId AND lp.lesson.id IN :lessonIds")
+    List<Object[]> findCompletionStates(@Param("studentId") Long studentId,
+                                        @Param("lessonIds") Collection<Long> lessonIds);
+
+    @Query("SELECT COUNT(lp) > 0 FROM LessonProgress lp WHERE lp.student.id = :studentId AND lp.lesson.id = :lessonId")
+    boolean existsForStudentAndLesson(@Param("studentId") Long studentId, @Param("lessonId") Long lessonId);
+
+    // Flips an existing row to completed; 0 when there is no row or it was already completed
+    @Modifying
+    @Query("UPDATE LessonProgress lp SET lp.completed = true, lp.completedAt = :now, lp.lastAccessedAt = :now " +
+            "WHERE lp.student.id = :studentId AND lp.lesson.id = :lessonId AND lp.completed = false")
+    int markCompleted(@Param("studentId") Long studentId,
+                      @Param("lessonId") Long lessonId,
+                      @Param("now") LocalDateTime now);
 }
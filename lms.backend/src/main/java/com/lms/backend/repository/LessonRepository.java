@@ -1,10 +1,14 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.LessonProgressItemDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,18 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     List<Lesson> findByCourse(Course course);
     long countByCourse(Course course);
     List<Lesson> findByCourseId(Long courseId);
-}
\ No newline at end of file
+
+    // [lessonId, courseId] for the given lessons that belong to a course the student is enrolled in
+    @Query("SELECT l.id, l.course.id FROM Lesson l WHERE l.id IN :lessonIds " +
+            "AND EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = l.course AND e.student.id = :studentId)")
+    List<Object[]> findEnrolledLessonCourses(@Param("studentId") Long studentId,
+                                             @Param("lessonIds") Collection<Long> lessonIds);
+
+    // Lessons of a course with the student's completion flag, resolved by the join (at most one progress row per lesson)
+    @Query("SELECT new com.lms.backend.dto.LessonProgressItemDto(l.id, l.title, l.durationSeconds, l.position, " +
+            "CASE WHEN lp.id IS NOT NULL THEN true ELSE false END) " +
+            "FROM Lesson l LEFT JOIN LessonProgress lp " +
+            "ON lp.lesson = l AND lp.student.id = :studentId AND lp.completed = true " +
+            "WHERE l.course.id = :courseId ORDER BY l.position ASC, l.id ASC")
+    List<LessonProgressItemDto> findProgressItems(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+}
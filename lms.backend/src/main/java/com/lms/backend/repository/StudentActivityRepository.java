@@ -0,0 +1,23 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.StudentActivity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StudentActivityRepository extends JpaRepository<StudentActivity, Long> {
+
+    // Row lock so two requests setting different days of the same year don't overwrite each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM StudentActivity a WHERE a.studentId = :studentId AND a.year = :year")
+    Optional<StudentActivity> findForUpdate(@Param("studentId") Long studentId, @Param("year") Integer year);
+
+    List<StudentActivity> findByStudentIdOrderByYearAsc(Long studentId);
+}
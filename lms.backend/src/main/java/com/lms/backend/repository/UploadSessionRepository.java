@@ -0,0 +1,54 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.UploadSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Compare-and-set on receivedBytes: only one writer can move a session past a given offset
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :newOffset, s.updatedAt = :now, s.expiresAt = :expiresAt " +
+            "WHERE s.id = :id AND s.status = :status AND s.receivedBytes = :offset")
+    int advanceOffset(@Param("id") String id,
+                      @Param("status") UploadSession.Status status,
+                      @Param("offset") long offset,
+                      @Param("newOffset") long newOffset,
+                      @Param("now") LocalDateTime now,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Status change that only succeeds from the expected status (claiming assembly, abort)
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = :to, s.updatedAt = :now WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") UploadSession.Status from,
+                   @Param("to") UploadSession.Status to,
+                   @Param("now") LocalDateTime now);
+
+    // Expires a session only if it is still open and still past its expiry
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = :to, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.status IN :open AND s.expiresAt < :now")
+    int expire(@Param("id") String id,
+               @Param("open") Collection<UploadSession.Status> open,
+               @Param("to") UploadSession.Status to,
+               @Param("now") LocalDateTime now);
+
+    List<UploadSession> findByStatusInAndExpiresAtBefore(Collection<UploadSession.Status> statuses,
+                                                         LocalDateTime now, Pageable pageable);
+
+    // Finished sessions are kept for a while so a retried "complete" still gets its URL
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.status IN :statuses AND s.updatedAt < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<UploadSession.Status> statuses,
+                             @Param("before") LocalDateTime before);
+}
@@ -1,8 +1,13 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.AdminUserRow;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +22,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRoleName(Role.RoleName roleName);
     List<User> findByRoleName(Role.RoleName roleName);
 
-}
\ No newline at end of file
+    // [roleName, count] per role, users without a role are grouped under null
+    @Query("SELECT r.name, COUNT(u) FROM User u LEFT JOIN u.role r " +
+            "WHERE u.pendingDelete IS NULL OR u.pendingDelete = false GROUP BY r.name")
+    List<Object[]> countUsersByRole();
+
+    // Only the role name, used by the JWT status check (no full user load); users being deleted count as gone
+    @Query("SELECT u.role.name FROM User u WHERE u.id = :id AND (u.pendingDelete IS NULL OR u.pendingDelete = false)")
+    Optional<Role.RoleName> findRoleNameById(@Param("id") Long id);
+
+    // Keyset page of the admin listing ordered by id; pass afterId = 0 for the first page.
+    // emailPrefix is a LIKE pattern ending in '%' (already escaped) or null for no filter.
+    @Query("SELECT new com.lms.backend.dto.AdminUserRow(u.id, u.username, u.email, r.name) " +
+            "FROM User u LEFT JOIN u.role r " +
+            "WHERE u.id > :afterId AND (u.pendingDelete IS NULL OR u.pendingDelete = false) " +
+            "AND (:role IS NULL OR r.name = :role) " +
+            "AND (:emailPrefix IS NULL OR u.email LIKE :emailPrefix ESCAPE '\\') " +
+            "ORDER BY u.id")
+    List<AdminUserRow> findAdminUserRows(@Param("afterId") Long afterId,
+                                         @Param("role") Role.RoleName role,
+                                         @Param("emailPrefix") String emailPrefix,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.pendingDelete = true WHERE u.id = :id")
+    int markPendingDelete(@Param("id") Long id);
+}
@@ -0,0 +1,13 @@
+package com.lms.backend.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects the authenticated {@link com.lms.backend.model.User} into a controller method.
+ * Resolved at most once per request by {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
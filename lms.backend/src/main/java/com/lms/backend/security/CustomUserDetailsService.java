@@ -25,6 +25,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .withUsername(user.getEmail())
                 .password(user.getPassword())
                 .authorities(user.getRole().getName().name())
+                .disabled(user.isPendingDelete()) // being deleted, no new logins
                 .build();
     }
 }
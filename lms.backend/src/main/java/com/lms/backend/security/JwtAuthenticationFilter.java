@@ -1,7 +1,10 @@
 package com.lms.backend.security;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -13,6 +16,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -22,6 +27,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    // When enabled, tokens carrying a user id are trusted without loading the user
+    @Value("${jwt.stateless-principal.enabled:true}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -29,17 +41,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                // ✅ FIX: Use getUsernameFromJWT method
-                String username = jwtTokenProvider.getUsernameFromJWT(jwt);
+            // Single verification per request (cached for recently seen tokens)
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.verifyToken(jwt) : null;
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            if (claims != null) {
+                String username = claims.getSubject();
+                Long userId = statelessPrincipal ? jwtTokenProvider.getUserId(claims) : null;
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UsernamePasswordAuthenticationToken authentication = userId != null
+                        ? authenticationFromClaims(userId, username)
+                        : authenticationFromDatabase(username);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +64,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Stateless path: principal comes from the token, role from the short-TTL status cache
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(Long userId, String email) {
+        Optional<String> role = userStatusCache.getCurrentRole(userId);
+        if (role.isEmpty()) {
+            // User was deleted after the token was issued
+            return null;
+        }
+
+        JwtUserPrincipal principal = new JwtUserPrincipal(userId, email, role.get());
+        return new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority(role.get())));
+    }
+
+    private UsernamePasswordAuthenticationToken authenticationFromDatabase(String username) {
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +89,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,18 @@
 package com.lms.backend.security;
 
+import com.lms.backend.util.BoundedCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,7 +23,24 @@ public class JwtTokenProvider {
     private final Key jwtSecret = Keys.secretKeyFor(SignatureAlgorithm.HS512);
     private final long jwtExpiration = 86400000; // 24 hours
 
+    // Built once, JwtParser is immutable and thread-safe
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(jwtSecret)
+            .build();
+
+    // SHA-256(token) -> verified claims, each entry expires with the token itself
+    private final BoundedCache<String, Claims> verifiedTokens;
+
+    public JwtTokenProvider(@Value("${jwt.verification-cache.max-entries:10000}") int verificationCacheSize) {
+        this.verifiedTokens = new BoundedCache<>(verificationCacheSize);
+    }
+
     public String generateToken(Authentication authentication) {
+        return generateToken(authentication, null);
+    }
+
+    // userId is stored as the "uid" claim so the filter can authenticate without a DB lookup
+    public String generateToken(Authentication authentication, Long userId) {
         String username = authentication.getName();
 
         // Extract roles from authentication
@@ -34,6 +57,10 @@ public class JwtTokenProvider {
             claims.put("role", roles.get(0));
         }
 
+        if (userId != null) {
+            claims.put("uid", userId);
+        }
+
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
@@ -45,26 +72,13 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        return getUsernameFromToken(token);
-    }
-
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims.
+     * @return claims of a valid token, or null if it is malformed, expired or badly signed
+     */
+    public Claims verifyToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(jwtSecret)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parseClaims(token);
         } catch (MalformedJwtException ex) {
             System.err.println("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -76,34 +90,81 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             System.err.println("JWT validation error: " + ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public String getUsernameFromJWT(String token) {
+        return getUsernameFromToken(token);
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    // User id from the "uid" claim, null for tokens issued without it
+    public Long getUserIdFromJWT(String token) {
+        return getUserId(parseClaims(token));
+    }
+
+    public Long getUserId(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        return uid != null ? uid.longValue() : null;
     }
 
     // Extract role from token
     public String getRoleFromToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(jwtSecret)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            // Try to get role from claims
-            String role = (String) claims.get("role");
-            if (role != null) {
-                return role;
-            }
-
-            // Fallback to roles list
-            List<String> roles = (List<String>) claims.get("roles");
-            if (roles != null && !roles.isEmpty()) {
-                return roles.get(0);
-            }
-
-            return "ROLE_STUDENT"; // Default fallback
+            return getRole(parseClaims(token));
         } catch (Exception ex) {
             System.err.println("Error extracting role from token: " + ex.getMessage());
             return "ROLE_STUDENT";
         }
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    public String getRole(Claims claims) {
+        // Try to get role from claims
+        String role = (String) claims.get("role");
+        if (role != null) {
+            return role;
+        }
+
+        // Fallback to roles list
+        List<String> roles = (List<String>) claims.get("roles");
+        if (roles != null && !roles.isEmpty()) {
+            return roles.get(0);
+        }
+
+        return "ROLE_STUDENT"; // Default fallback
+    }
+
+    // Signature check and parse, skipped when the same token was verified recently
+    private Claims parseClaims(String token) {
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(cacheKey, claims, expiration.getTime());
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lms.backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+// Authenticated user built straight from verified JWT claims (no users table lookup)
+@Getter
+@AllArgsConstructor
+public class JwtUserPrincipal implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+
+    // Authentication.getName() keeps returning the email, same as the DB-backed principal
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
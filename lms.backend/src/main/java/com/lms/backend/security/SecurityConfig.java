@@ -1,8 +1,10 @@
 package com.lms.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -57,8 +59,15 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // USE CORS CONFIG
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses (e.g. the user export) finish with an ASYNC dispatch;
+                        // the original request was already authorized and JWT state isn't kept between dispatches
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Media served by the local store is public, same as public-read S3 objects
+                        .requestMatchers(HttpMethod.GET, "/api/media/files/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/media/files/**").permitAll()
 
 
 //                        // SWAGGER:
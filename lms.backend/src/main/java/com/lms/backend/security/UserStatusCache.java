@@ -0,0 +1,53 @@
+package com.lms.backend.security;
+
+import com.lms.backend.model.Role;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Short-lived view of each user's current role, used by the stateless JWT filter.
+ * A user is re-checked against the database at most once per TTL, so role changes
+ * and deletions done by an admin take effect without a lookup on every request.
+ */
+@Component
+public class UserStatusCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.status-check.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${jwt.status-check.max-entries:10000}")
+    private int maxEntries;
+
+    // userId -> current role name, empty when the user no longer exists
+    private BoundedCache<Long, Optional<String>> statuses;
+
+    @PostConstruct
+    void init() {
+        statuses = new BoundedCache<>(maxEntries);
+    }
+
+    public Optional<String> getCurrentRole(Long userId) {
+        Optional<String> cached = statuses.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<String> role = userRepository.findRoleNameById(userId).map(Role.RoleName::name);
+        statuses.put(userId, role, System.currentTimeMillis() + ttlSeconds * 1000);
+        return role;
+    }
+
+    // Call after changing or removing a user so this node picks it up immediately
+    public void evict(Long userId) {
+        statuses.invalidate(userId);
+    }
+}
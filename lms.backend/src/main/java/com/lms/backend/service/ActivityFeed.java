@@ -0,0 +1,98 @@
+package com.lms.backend.service;
+
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.model.ActivityEvent;
+import com.lms.backend.repository.ActivityEventRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last N activity events kept in a lock-free ring buffer, so the admin feed
+ * never queries. Events are appended to activity_events and the ring is
+ * hydrated from that table at startup.
+ */
+@Component
+public class ActivityFeed {
+
+    @Autowired
+    private ActivityEventRepository activityEventRepository;
+
+    @Value("${admin.activity.buffer-size:50}")
+    private int capacity;
+
+    private AtomicReferenceArray<ActivityEvent> ring;
+
+    // Total events ever appended; slot = sequence % capacity
+    private final AtomicLong sequence = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        List<ActivityEvent> newestFirst = activityEventRepository.findByOrderByIdDesc(PageRequest.of(0, capacity));
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            append(newestFirst.get(i));
+        }
+        System.out.println("Activity feed hydrated with " + newestFirst.size() + " events");
+    }
+
+    // Written inside the publisher's transaction, visible in the feed only once it commits
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onActivity(ActivityOccurredEvent event) {
+        ActivityEvent saved = activityEventRepository.save(ActivityEvent.builder()
+                .type(event.type())
+                .actorId(event.actorId())
+                .courseId(event.courseId())
+                .message(event.message())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(saved);
+                }
+            });
+        } else {
+            append(saved);
+        }
+    }
+
+    // Newest first, at most `limit` events
+    public List<ActivityEvent> recent(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.min(limit, capacity));
+        List<ActivityEvent> events = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            ActivityEvent event = ring.get((int) (i % capacity));
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private void append(ActivityEvent event) {
+        long slot = sequence.getAndIncrement();
+        ring.set((int) (slot % capacity), event);
+    }
+}
@@ -1,15 +1,27 @@
 package com.lms.backend.service;
 
 import com.lms.backend.controller.AdminController;
+import com.lms.backend.dto.AdminUserRow;
+import com.lms.backend.dto.BulkModerationResult;
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.model.DeletionJob;
 import com.lms.backend.model.User;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 import java.util.Map;
 
 public interface AdminService {
-    List<User> getAllUsers();
+    // Keyset-paginated user listing; role and emailPrefix are optional filters
+    CursorPage<AdminUserRow> getUsersPage(String cursor, int size, String role, String emailPrefix);
+
+    // Validates the filters now; the returned body streams every matching user as "csv" or "ndjson"
+    StreamingResponseBody exportUsers(String format, String role, String emailPrefix);
+
     User createUser(AdminController.CreateUserRequest request); // ✅ CHANGE: DTO use karo
-    void deleteUser(Long userId);
+    // Schedules a background deletion, see DeletionJobService
+    DeletionJob deleteUser(Long userId);
     User updateUserRole(Long userId, String role);
     Map<String, Object> getAdminStats();
     List<Map<String, Object>> getRecentActivity();
@@ -18,4 +30,11 @@ public interface AdminService {
     List<CourseDto> getPendingCourses();
     CourseDto approveCourse(Long courseId);
     CourseDto rejectCourse(Long courseId);
+
+    // Set-based moderation of many pending courses in one transaction, with a per-id outcome
+    BulkModerationResult approveCourses(List<Long> courseIds);
+    BulkModerationResult rejectCourses(List<Long> courseIds);
+
+    // Hit/miss/eviction counters of the student catalog cache
+    Map<String, Object> getCatalogCacheStats();
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.lms.backend.service;
+
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.Role;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Precomputed numbers for /api/admin/stats. Rebuilt from three aggregate queries
+ * on a fixed schedule and shortly after writes that change them, so reading the
+ * dashboard is a field read.
+ */
+@Component
+public class AdminStatsSnapshot {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private volatile Map<String, Object> snapshot = Map.of();
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    public Map<String, Object> get() {
+        return snapshot;
+    }
+
+    // Called by writes that change user / course / enrollment counts; takes effect after commit
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale.set(true);
+                }
+            });
+        } else {
+            stale.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        stale.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    // Cheap poll: only queries when something changed since the last rebuild
+    @Scheduled(fixedDelayString = "${admin.stats.stale-check-ms:2000}")
+    public void refreshIfStale() {
+        if (stale.get()) {
+            refresh();
+        }
+    }
+
+    // Safety net for writes that don't mark the snapshot (e.g. direct SQL)
+    @Scheduled(initialDelayString = "${admin.stats.refresh-interval-ms:300000}",
+            fixedDelayString = "${admin.stats.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        // Cleared first so a write committing during the rebuild triggers another one
+        stale.set(false);
+        try {
+            long totalUsers = 0;
+            Map<Role.RoleName, Long> usersByRole = new HashMap<>();
+            for (Object[] row : userRepository.countUsersByRole()) {
+                long count = (Long) row[1];
+                totalUsers += count;
+                if (row[0] != null) {
+                    usersByRole.put((Role.RoleName) row[0], count);
+                }
+            }
+
+            long totalCourses = 0;
+            long pendingCourses = 0;
+            for (Object[] row : courseRepository.countCoursesByApproved()) {
+                long count = (Long) row[1];
+                totalCourses += count;
+                if (!(Boolean) row[0]) {
+                    pendingCourses = count;
+                }
+            }
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalUsers", totalUsers);
+            stats.put("totalCourses", totalCourses);
+            stats.put("pendingCourses", pendingCourses);
+            stats.put("totalStudents", usersByRole.getOrDefault(Role.RoleName.ROLE_STUDENT, 0L));
+            stats.put("totalInstructors", usersByRole.getOrDefault(Role.RoleName.ROLE_INSTRUCTOR, 0L));
+            stats.put("totalAdmins", usersByRole.getOrDefault(Role.RoleName.ROLE_ADMIN, 0L));
+            stats.put("totalRevenue", enrollmentRepository.sumEnrolledCoursePrices());
+            stats.put("generatedAt", LocalDateTime.now());
+
+            snapshot = Map.copyOf(stats);
+        } catch (Exception e) {
+            stale.set(true);
+            System.err.println("Could not refresh admin stats: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lms.backend.service;
+
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically recounts the denormalized counters (courses.enrollment_count,
+ * enrollments.completed_lessons / total_lessons) from their source tables.
+ * The counters are kept up to date by atomic updates; this only repairs drift
+ * (rows written outside the service layer, seeded data, missed decrements).
+ */
+@Component
+public class CounterReconciler {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Scheduled(initialDelayString = "${counters.reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${counters.reconcile.interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int courses = courseRepository.reconcileEnrollmentCounts();
+        if (courses > 0) {
+            System.out.println("Reconciled enrollment counters for " + courses + " courses");
+        }
+
+        int enrollments = enrollmentRepository.reconcileLessonCounters();
+        if (enrollments > 0) {
+            System.out.println("Reconciled lesson counters for " + enrollments + " enrollments");
+        }
+    }
+}
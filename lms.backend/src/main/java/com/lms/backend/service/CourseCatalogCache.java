@@ -0,0 +1,100 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.Course;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.util.BoundedCache;
+import com.lms.backend.util.CourseMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of the approved course catalog, one entry for all courses
+ * plus one per category. CourseDto is mutable, so callers get their own copies
+ * and never the cached elements. Entries are dropped by
+ * CourseCatalogChangedEvent after the write commits.
+ */
+@Component
+public class CourseCatalogCache {
+
+    private static final Long ALL_COURSES = -1L;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${catalog.cache.max-entries:256}")
+    private int maxEntries;
+
+    // Safety net only, writes invalidate explicitly
+    @Value("${catalog.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private BoundedCache<Long, List<CourseDto>> entries;
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        entries = new BoundedCache<>(maxEntries);
+    }
+
+    public List<CourseDto> getCatalog() {
+        return getOrLoad(ALL_COURSES, courseRepository::findByApprovedTrue);
+    }
+
+    public List<CourseDto> getCatalogByCategory(Long categoryId) {
+        return getOrLoad(categoryId, () -> courseRepository.findByApprovedTrueAndCategoryId(categoryId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CourseCatalogChangedEvent event) {
+        generation.incrementAndGet();
+        entries.invalidate(ALL_COURSES);
+        event.categoryIds().forEach(entries::invalidate);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return entries.stats();
+    }
+
+    private List<CourseDto> getOrLoad(Long key, Supplier<List<Course>> loader) {
+        List<CourseDto> cached = entries.get(key);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        long loadGeneration = generation.get();
+        List<CourseDto> snapshot = loader.get().stream()
+                .map(CourseMapper::toDto)
+                .toList();
+
+        synchronized (this) {
+            if (generation.get() == loadGeneration) {
+                entries.put(key, snapshot, System.currentTimeMillis() + ttlSeconds * 1000);
+            }
+        }
+        return copyOf(snapshot);
+    }
+
+    // Shallow copy is enough, every CourseDto field is immutable
+    private static List<CourseDto> copyOf(List<CourseDto> snapshot) {
+        return snapshot.stream()
+                .map(dto -> dto.toBuilder().build())
+                .toList();
+    }
+}
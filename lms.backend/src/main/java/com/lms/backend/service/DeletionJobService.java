@@ -0,0 +1,293 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.DeletionJob;
+import com.lms.backend.model.DeletionJob.Status;
+import com.lms.backend.model.DeletionJob.TargetType;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.DeletionJobRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.UserStatusCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes courses and users in the background instead of through JPA cascades.
+ * <p>
+ * The request only flags the row (pending_delete) and records a job. The scheduled runner then removes
+ * enrollments, lesson progress, lessons (with their S3 media) and finally the row itself, at most
+ * deletion.chunk-size rows per statement and one short transaction per chunk. Every chunk re-reads
+ * what is left, so a crashed or failed job simply resumes on the next run.
+ */
+@Service
+public class DeletionJobService {
+
+    private static final List<Status> ACTIVE = List.of(Status.PENDING, Status.RUNNING);
+
+    // Enrollments go first: once they are gone nothing can write new progress rows for the course / student
+    private static final String DELETE_COURSE_ENROLLMENTS =
+            "DELETE FROM enrollments WHERE id IN (SELECT id FROM enrollments WHERE course_id = ? LIMIT ?)";
+    private static final String DELETE_COURSE_PROGRESS =
+            "DELETE FROM lesson_progress WHERE id IN (SELECT lp.id FROM lesson_progress lp " +
+                    "JOIN lessons l ON l.id = lp.lesson_id WHERE l.course_id = ? LIMIT ?)";
+    private static final String SELECT_COURSE_LESSONS =
+            "SELECT id, media_url FROM lessons WHERE course_id = ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_STUDENT_ENROLLMENTS =
+            "SELECT id, course_id FROM enrollments WHERE student_id = ? ORDER BY id LIMIT ?";
+    private static final String DELETE_STUDENT_PROGRESS =
+            "DELETE FROM lesson_progress WHERE id IN (SELECT id FROM lesson_progress WHERE student_id = ? LIMIT ?)";
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private AdminStatsSnapshot adminStatsSnapshot;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${deletion.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${deletion.max-attempts:5}")
+    private int maxAttempts;
+
+    // One transaction per chunk keeps row locks short
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // What one chunk did: which table it worked on, rows / media removed, and whether the target is gone
+    record Chunk(String phase, int rows, int media, boolean finished) {
+    }
+
+    // ---- scheduling (runs in the caller's transaction) ----
+
+    @Transactional
+    public DeletionJob scheduleCourseDeletion(Long courseId) {
+        return scheduleCourseDeletions(List.of(courseId)).get(0);
+    }
+
+    // Flags all courses with one UPDATE; ids that already have an active job keep it
+    @Transactional
+    public List<DeletionJob> scheduleCourseDeletions(Collection<Long> courseIds) {
+        courseRepository.markPendingDelete(courseIds);
+        List<DeletionJob> jobs = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            jobs.add(activeJobOrNew(TargetType.COURSE, courseId));
+        }
+        adminStatsSnapshot.markStale();
+        return deletionJobRepository.saveAll(jobs);
+    }
+
+    // Locks the account out immediately; the user's own courses are removed by the same job
+    @Transactional
+    public DeletionJob scheduleUserDeletion(Long userId) {
+        if (userRepository.markPendingDelete(userId) == 0) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        List<Long> courseIds = courseRepository.findIdsByInstructorId(userId);
+        if (!courseIds.isEmpty()) {
+            courseRepository.markPendingDelete(courseIds);
+        }
+        userStatusCache.evict(userId);
+        adminStatsSnapshot.markStale();
+        return deletionJobRepository.save(activeJobOrNew(TargetType.USER, userId));
+    }
+
+    private DeletionJob activeJobOrNew(TargetType targetType, Long targetId) {
+        return deletionJobRepository.findFirstByTargetTypeAndTargetIdAndStatusIn(targetType, targetId, ACTIVE)
+                .orElseGet(() -> DeletionJob.builder()
+                        .targetType(targetType)
+                        .targetId(targetId)
+                        .status(Status.PENDING)
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+    }
+
+    public DeletionJob getJob(Long jobId) {
+        return deletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Deletion job not found: " + jobId));
+    }
+
+    public List<DeletionJob> getRecentJobs(int limit) {
+        return deletionJobRepository.findByOrderByIdDesc(PageRequest.of(0, Math.max(1, Math.min(limit, 100))));
+    }
+
+    // ---- runner ----
+
+    @Scheduled(initialDelayString = "${deletion.poll-interval-ms:2000}", fixedDelayString = "${deletion.poll-interval-ms:2000}")
+    public void runPendingJobs() {
+        for (DeletionJob job : deletionJobRepository.findByStatusInOrderByIdAsc(ACTIVE, PageRequest.of(0, 10))) {
+            runJob(job);
+        }
+    }
+
+    // Runs up to maxChunksPerRun chunks, so one huge job doesn't starve the rest
+    void runJob(DeletionJob job) {
+        for (int i = 0; i < maxChunksPerRun && job.getStatus() != Status.COMPLETED; i++) {
+            DeletionJob current = job;
+            try {
+                job = chunkTransaction.execute(status -> {
+                    Chunk chunk = current.getTargetType() == TargetType.COURSE
+                            ? deleteCourseChunk(current.getTargetId())
+                            : deleteUserChunk(current.getTargetId());
+                    return deletionJobRepository.save(recordChunk(current, chunk));
+                });
+            } catch (RuntimeException e) {
+                recordFailure(job, e);
+                return;
+            }
+        }
+        if (job.getStatus() == Status.COMPLETED) {
+            onCompleted(job);
+        }
+    }
+
+    private DeletionJob recordChunk(DeletionJob job, Chunk chunk) {
+        job.setStatus(chunk.finished() ? Status.COMPLETED : Status.RUNNING);
+        job.setPhase(chunk.phase());
+        job.setRowsDeleted(job.getRowsDeleted() + chunk.rows());
+        job.setMediaDeleted(job.getMediaDeleted() + chunk.media());
+        job.setChunks(job.getChunks() + 1);
+        job.setAttempts(0);
+        job.setLastError(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        if (chunk.finished()) {
+            job.setCompletedAt(LocalDateTime.now());
+        }
+        return job;
+    }
+
+    private void recordFailure(DeletionJob job, RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        System.out.println("Deletion job " + job.getId() + " failed in phase " + job.getPhase() + ": " + message);
+
+        job.setAttempts(job.getAttempts() + 1);
+        job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        job.setUpdatedAt(LocalDateTime.now());
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(Status.FAILED);
+        }
+        deletionJobRepository.save(job);
+    }
+
+    private void onCompleted(DeletionJob job) {
+        if (job.getTargetType() == TargetType.USER) {
+            userStatusCache.evict(job.getTargetId());
+        }
+        adminStatsSnapshot.markStale();
+        System.out.println("Deletion job " + job.getId() + " finished: " + job.getTargetType() + " " + job.getTargetId()
+                + ", " + job.getRowsDeleted() + " rows and " + job.getMediaDeleted() + " media files in " + job.getChunks() + " chunks");
+    }
+
+    // ---- chunks (each runs inside chunkTransaction) ----
+
+    Chunk deleteCourseChunk(Long courseId) {
+        int rows = jdbcTemplate.update(DELETE_COURSE_ENROLLMENTS, courseId, chunkSize);
+        if (rows > 0) {
+            return new Chunk("enrollments", rows, 0, false);
+        }
+        rows = jdbcTemplate.update(DELETE_COURSE_PROGRESS, courseId, chunkSize);
+        if (rows > 0) {
+            return new Chunk("lesson_progress", rows, 0, false);
+        }
+
+        List<Map<String, Object>> lessons = jdbcTemplate.queryForList(SELECT_COURSE_LESSONS, courseId, chunkSize);
+        if (!lessons.isEmpty()) {
+            List<Object> ids = new ArrayList<>();
+            List<String> mediaUrls = new ArrayList<>();
+            for (Map<String, Object> lesson : lessons) {
+                ids.add(lesson.get("id"));
+                if (lesson.get("media_url") != null) {
+                    mediaUrls.add((String) lesson.get("media_url"));
+                }
+            }
+            // S3 first: if it fails the chunk rolls back and the lessons (with their URLs) are retried
+            int media = mediaStorageService.deleteFiles(mediaUrls);
+            rows = jdbcTemplate.update("DELETE FROM lessons WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+            return new Chunk("lessons", rows, media, false);
+        }
+
+        List<String> cover = jdbcTemplate.queryForList("SELECT cover_image_url FROM courses WHERE id = ?", String.class, courseId);
+        int media = cover.isEmpty() || cover.get(0) == null ? 0 : mediaStorageService.deleteFiles(cover);
+        rows = jdbcTemplate.update("DELETE FROM courses WHERE id = ?", courseId);
+        return new Chunk("course", rows, media, true);
+    }
+
+    Chunk deleteUserChunk(Long userId) {
+        // The user's own courses, one course chunk at a time
+        List<Long> courseIds = jdbcTemplate.queryForList(
+                "SELECT id FROM courses WHERE instructor_id = ? ORDER BY id LIMIT 1", Long.class, userId);
+        if (!courseIds.isEmpty()) {
+            Chunk chunk = deleteCourseChunk(courseIds.get(0));
+            return new Chunk("courses." + chunk.phase(), chunk.rows(), chunk.media(), false);
+        }
+
+        List<Map<String, Object>> enrollments = jdbcTemplate.queryForList(SELECT_STUDENT_ENROLLMENTS, userId, chunkSize);
+        if (!enrollments.isEmpty()) {
+            List<Object> ids = new ArrayList<>();
+            List<Object[]> courseDecrements = new ArrayList<>();
+            for (Map<String, Object> enrollment : enrollments) {
+                ids.add(enrollment.get("id"));
+                courseDecrements.add(new Object[]{enrollment.get("course_id")});
+            }
+            // One enrollment per (student, course), so each course loses exactly one
+            jdbcTemplate.batchUpdate("UPDATE courses SET enrollment_count = COALESCE(enrollment_count, 0) - 1 WHERE id = ?",
+                    courseDecrements);
+            int rows = jdbcTemplate.update("DELETE FROM enrollments WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+            return new Chunk("enrollments", rows, 0, false);
+        }
+
+        int rows = jdbcTemplate.update(DELETE_STUDENT_PROGRESS, userId, chunkSize);
+        if (rows > 0) {
+            return new Chunk("lesson_progress", rows, 0, false);
+        }
+
+        // At most one row per year, no need to chunk
+        rows = jdbcTemplate.update("DELETE FROM student_activity WHERE student_id = ?", userId);
+        rows += jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        return new Chunk("user", rows, 0, true);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
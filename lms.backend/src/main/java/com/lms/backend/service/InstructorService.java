@@ -1,6 +1,8 @@
 // InstructorService.java - UPDATE INTERFACE
 package com.lms.backend.service;
 
+import com.lms.backend.dto.CourseRosterRow;
+import com.lms.backend.dto.CursorPage;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import java.util.List;
@@ -20,4 +22,8 @@ public interface InstructorService {
     Lesson updateLesson(Long lessonId, Lesson updatedLesson);
     void deleteLesson(Long lessonId);
     Map<String, Object> getCourseWithStats(Long courseId);
+
+    // ROSTER (sort: recent | progress | progress_asc, band: all | not_started | in_progress | completed)
+    CursorPage<CourseRosterRow> getCourseRoster(Long courseId, String cursor, int size, String sort, String band);
+    Map<String, Object> getRosterSummary(Long courseId);
 }
\ No newline at end of file
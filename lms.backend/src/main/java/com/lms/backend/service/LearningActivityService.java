@@ -0,0 +1,18 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.LearningStreakDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Day-granularity activity tracking behind the learning streak
+public interface LearningActivityService {
+
+    // Marks today as active for the student, cheap no-op after the first call of the day
+    void recordActivity(Long studentId);
+
+    // Marks past days as active (offline progress uploaded later)
+    void recordActivityDays(Long studentId, Collection<LocalDate> days);
+
+    LearningStreakDto getStreak(Long studentId);
+}
@@ -0,0 +1,235 @@
+package com.lms.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for lesson heartbeats. Heartbeats for the same (student, lesson)
+ * are coalesced in memory and written to lesson_progress in JDBC batches on a fixed
+ * delay and on shutdown, instead of one UPDATE per heartbeat.
+ */
+@Component
+public class LessonHeartbeatBuffer {
+
+    private static final String UPDATE_PROGRESS =
+            "UPDATE lesson_progress SET time_spent = COALESCE(time_spent, 0) + ?, " +
+            "last_accessed_at = GREATEST(COALESCE(last_accessed_at, ?), ?) " +
+            "WHERE student_id = ? AND lesson_id = ? " +
+            "AND EXISTS (SELECT 1 FROM lessons l WHERE l.id = lesson_progress.lesson_id AND l.course_id = ?)";
+
+    // Joined to enrollments so heartbeats for foreign lessons / courses never create rows
+    private static final String INSERT_PROGRESS =
+            "INSERT INTO lesson_progress (student_id, lesson_id, completed, time_spent, last_accessed_at) " +
+            "SELECT e.student_id, l.id, false, ?, ? FROM lessons l " +
+            "JOIN enrollments e ON e.course_id = l.course_id AND e.student_id = ? " +
+            "WHERE l.id = ? AND l.course_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM lesson_progress lp WHERE lp.student_id = ? AND lp.lesson_id = ?)";
+
+    // courseId is part of the key so a bogus course id can't hijack a valid entry
+    record Key(Long studentId, Long courseId, Long lessonId) {}
+
+    // Seconds not yet written. timeSpent is stored in whole minutes, so the sub-minute remainder
+    // stays buffered (carried) until more heartbeats arrive, and is dropped once the lesson goes idle
+    record Pending(int seconds, LocalDateTime lastSeenAt, boolean carried) {
+        Pending plus(Pending other) {
+            LocalDateTime latest = lastSeenAt.isAfter(other.lastSeenAt) ? lastSeenAt : other.lastSeenAt;
+            return new Pending(seconds + other.seconds, latest, carried && other.carried);
+        }
+    }
+
+    record Drained(Key key, int minutes, LocalDateTime lastSeenAt) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Caps memory; once full, heartbeats for new (student, lesson) pairs are refused until the next flush
+    @Value("${heartbeat.buffer.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${heartbeat.max-seconds:60}")
+    private int maxSecondsPerHeartbeat;
+
+    @Value("${heartbeat.idle-drop-seconds:120}")
+    private int idleDropSeconds;
+
+    // ConcurrentHashMap locks per bin, so concurrent heartbeats only contend on the same key
+    private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+
+    // UPDATE and INSERT batches commit together, so a failed flush can be requeued without counting time twice
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    void init() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Buffers one heartbeat.
+     * @return false when the buffer is full (caller should ask the client to retry later)
+     */
+    public boolean offer(Long studentId, Long courseId, Long lessonId, int seconds) {
+        Key key = new Key(studentId, courseId, lessonId);
+        if (pending.size() >= maxEntries && !pending.containsKey(key)) {
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        int clamped = Math.max(0, Math.min(seconds, maxSecondsPerHeartbeat));
+        pending.merge(key, new Pending(clamped, LocalDateTime.now(), false), Pending::plus);
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${heartbeat.flush-interval-ms:10000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("Heartbeat flush failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        System.out.println("Flushing " + pending.size() + " buffered heartbeats before shutdown");
+        flush();
+    }
+
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime idleCutoff = LocalDateTime.now().minusSeconds(idleDropSeconds);
+
+        // remove(key, value) only hands over an entry nobody merged into meanwhile, otherwise it waits for the next flush
+        List<Drained> batch = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Pending value = pending.get(key);
+            if (value == null) {
+                continue;
+            }
+            if (value.carried()) {
+                // Only a sub-minute remainder, nothing to write yet
+                if (value.lastSeenAt().isBefore(idleCutoff)) {
+                    pending.remove(key, value);
+                }
+                continue;
+            }
+            if (!pending.remove(key, value)) {
+                continue;
+            }
+            int remainder = value.seconds() % 60;
+            if (remainder > 0) {
+                pending.merge(key, new Pending(remainder, value.lastSeenAt(), true), Pending::plus);
+            }
+            batch.add(new Drained(key, value.seconds() / 60, value.lastSeenAt()));
+        }
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer written = writeTransaction.execute(status -> write(batch));
+            flushedRows.addAndGet(written);
+            return written;
+        } catch (RuntimeException e) {
+            // Nothing was committed, put the work back so the next flush retries it
+            for (Drained row : batch) {
+                pending.merge(row.key(), new Pending(row.minutes() * 60, row.lastSeenAt(), false), Pending::plus);
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("buffered", pending.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("flushedRows", flushedRows.get());
+        return stats;
+    }
+
+    // Batched UPDATE for existing rows, then one batched INSERT ... SELECT for the rest.
+    // The INSERT can hit the unique key when the row was created meanwhile (completion, /progress/sync);
+    // after the rollback the retry finds that row with the UPDATE.
+    private int write(List<Drained> batch) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_PROGRESS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Drained row = batch.get(i);
+                Timestamp seen = Timestamp.valueOf(row.lastSeenAt());
+                ps.setInt(1, row.minutes());
+                ps.setTimestamp(2, seen);
+                ps.setTimestamp(3, seen);
+                ps.setLong(4, row.key().studentId());
+                ps.setLong(5, row.key().lessonId());
+                ps.setLong(6, row.key().courseId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        List<Drained> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(batch.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return batch.size();
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PROGRESS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Drained row = missing.get(i);
+                ps.setInt(1, row.minutes());
+                ps.setTimestamp(2, Timestamp.valueOf(row.lastSeenAt()));
+                ps.setLong(3, row.key().studentId());
+                ps.setLong(4, row.key().lessonId());
+                ps.setLong(5, row.key().courseId());
+                ps.setLong(6, row.key().studentId());
+                ps.setLong(7, row.key().lessonId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return missing.size();
+            }
+        });
+        return batch.size();
+    }
+}
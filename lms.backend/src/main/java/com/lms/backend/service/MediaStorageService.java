@@ -1,61 +1,276 @@
 package com.lms.backend.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.lms.backend.exception.PayloadTooLargeException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+// Media rules (keys, size and type checks) on top of whichever MediaStore is configured
 @Service
 public class MediaStorageService {
 
     @Autowired
-    private AmazonS3 s3Client;
+    private MediaStore mediaStore;
 
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
+    // Direct (presigned) uploads: largest accepted object and how long the PUT URL stays valid
+    @Value("${media.direct-upload.max-size:2GB}")
+    private DataSize directUploadMaxSize;
 
-    // ✅ UPLOAD FILE TO AWS S3
+    @Value("${media.direct-upload.url-expiry-minutes:15}")
+    private long directUploadExpiryMinutes;
+
+    // Streaming uploads: largest body. The slots are shared by every upload whose bytes pass through
+    // this node (stream, multipart and resumable chunks): how many may run at once and how long one waits
+    @Value("${media.stream.max-size:2GB}")
+    private DataSize streamMaxSize;
+
+    @Value("${media.stream.max-concurrent:8}")
+    private int streamMaxConcurrent;
+
+    @Value("${media.stream.acquire-timeout-ms:2000}")
+    private long streamAcquireTimeoutMs;
+
+    // Fair, so waiting requests are served in order
+    private Semaphore uploadSlots;
+
+    @PostConstruct
+    void init() {
+        uploadSlots = new Semaphore(Math.max(1, streamMaxConcurrent), true);
+    }
+
+    // Same families MediaUpload.jsx offers (images, video, audio, pdf and office documents)
+    private static final List<String> ALLOWED_CONTENT_TYPES = List.of(
+            "image/", "video/", "audio/", "application/pdf", "application/msword",
+            "application/vnd.ms-powerpoint", "application/vnd.openxmlformats-officedocument.");
+
+    // ✅ UPLOAD FILE TO MEDIA STORE
     public String uploadFile(MultipartFile file, Long courseId) {
-        try {
+        if (!isAllowedContentType(file.getContentType())) {
+            throw new IllegalArgumentException("Unsupported content type: " + file.getContentType());
+        }
+        acquireUploadSlot();
+        try (InputStream input = file.getInputStream()) {
             // Generate unique filename
-            String fileName = "course_" + courseId + "/" +
-                    UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+            String key = newKey(courseId, file.getOriginalFilename());
+            return mediaStore.store(key, input, file.getSize(), file.getContentType());
+        } catch (IOException ex) {
+            throw new RuntimeException("Media upload failed: " + ex.getMessage(), ex);
+        } finally {
+            releaseUploadSlot();
+        }
+    }
 
-            // Upload to S3
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType(file.getContentType());
-            metadata.setContentLength(file.getSize());
+    // Pipes a raw request body to the media store while it is still arriving, so nothing is spooled to a
+    // temp file or held in memory first. contentLength is -1 for chunked bodies. The size limit is checked
+    // while reading, so an oversized body fails as soon as it crosses it and the store drops the partial object.
+    public String uploadStream(Long courseId, String fileName, String contentType, InputStream body, long contentLength) {
+        long maxBytes = streamMaxSize.toBytes();
+        if (contentLength > maxBytes) {
+            throw new PayloadTooLargeException("File is larger than " + streamMaxSize.toMegabytes() + "MB");
+        }
+        if (contentLength == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        if (!isAllowedContentType(contentType)) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
 
-            s3Client.putObject(new PutObjectRequest(
-                    bucketName,
-                    fileName,
-                    file.getInputStream(),
-                    metadata
-            ).withCannedAcl(CannedAccessControlList.PublicRead));
+        acquireUploadSlot();
+        try {
+            String key = newKey(courseId, fileName);
+            return mediaStore.store(key, new SizeLimitedInputStream(body, maxBytes), contentLength, contentType);
+        } catch (IOException | RuntimeException ex) {
+            // Stores wrap stream errors (e.g. the S3 SDK), so look for the limit further down
+            for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+                if (cause instanceof PayloadTooLargeException tooLarge) {
+                    throw tooLarge;
+                }
+            }
+            throw new RuntimeException("Media upload failed: " + ex.getMessage(), ex);
+        } finally {
+            releaseUploadSlot();
+        }
+    }
+
+    // Upload URL for a new course_{id}/ key, so the bytes go from the browser straight to storage.
+    // The PUT must carry exactly the returned headers, they are part of the signature.
+    public Map<String, Object> createDirectUpload(Long courseId, String fileName, String contentType, long size) {
+        if (size <= 0 || size > directUploadMaxSize.toBytes()) {
+            throw new IllegalArgumentException("File size must be between 1 byte and " + directUploadMaxSize.toMegabytes() + "MB");
+        }
+        if (!isAllowedContentType(contentType)) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
 
-            // Return public URL
-            return s3Client.getUrl(bucketName, fileName).toString();
+        String key = newKey(courseId, fileName);
+        Instant expiresAt = Instant.now().plus(directUploadExpiryMinutes, ChronoUnit.MINUTES);
+        MediaStore.DirectUpload directUpload = mediaStore.createDirectUpload(key, contentType, expiresAt);
+        if (directUpload == null) {
+            throw new UnsupportedOperationException("Direct uploads are not supported by this media store");
+        }
 
-        } catch (IOException ex) {
-            throw new RuntimeException("S3 upload failed: " + ex.getMessage(), ex);
+        Map<String, Object> upload = new HashMap<>();
+        upload.put("key", key);
+        upload.put("uploadUrl", directUpload.url());
+        upload.put("method", directUpload.method());
+        upload.put("headers", directUpload.headers());
+        upload.put("expiresAt", expiresAt);
+        return upload;
+    }
+
+    // Checks a finished direct upload (exists, size, content type) and returns its public URL.
+    // Objects that fail the check are deleted so they do not linger in storage.
+    public String verifyDirectUpload(Long courseId, String key) {
+        if (key == null || !key.startsWith("course_" + courseId + "/") || key.contains("..")) {
+            throw new IllegalArgumentException("Key does not belong to course " + courseId);
+        }
+
+        MediaStore.StoredMedia stored = mediaStore.describe(key);
+        if (stored == null) {
+            throw new IllegalArgumentException("Upload not found: " + key);
+        }
+        if (stored.size() > directUploadMaxSize.toBytes()) {
+            mediaStore.delete(List.of(key));
+            throw new IllegalArgumentException("Uploaded file is larger than " + directUploadMaxSize.toMegabytes() + "MB");
         }
+        if (!isAllowedContentType(stored.contentType())) {
+            mediaStore.delete(List.of(key));
+            throw new IllegalArgumentException("Unsupported content type: " + stored.contentType());
+        }
+        return mediaStore.urlFor(key);
     }
 
-    // ✅ DELETE FILE FROM AWS S3
+    // ✅ DELETE FILE FROM MEDIA STORE
     public void deleteFile(String fileUrl) {
         try {
             // Extract file key from URL
             String fileKey = fileUrl.substring(fileUrl.lastIndexOf("/course_") + 1);
-            s3Client.deleteObject(bucketName, fileKey);
+            mediaStore.delete(List.of(fileKey));
         } catch (Exception ex) {
-            throw new RuntimeException("S3 delete failed: " + ex.getMessage(), ex);
+            throw new RuntimeException("Media delete failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    // Batch delete; URLs that don't point into our key layout are skipped.
+    // Returns how many objects were deleted.
+    public int deleteFiles(Collection<String> fileUrls) {
+        List<String> keys = new ArrayList<>();
+        for (String fileUrl : fileUrls) {
+            int keyStart = fileUrl != null ? fileUrl.lastIndexOf("/course_") : -1;
+            if (keyStart >= 0) {
+                keys.add(fileUrl.substring(keyStart + 1));
+            }
+        }
+
+        try {
+            mediaStore.delete(keys);
+        } catch (Exception ex) {
+            throw new RuntimeException("Media delete failed: " + ex.getMessage(), ex);
+        }
+        return keys.size();
+    }
+
+    // Throws RejectedExecutionException (503 for the client) when no slot frees up in time
+    void acquireUploadSlot() {
+        try {
+            if (!uploadSlots.tryAcquire(streamAcquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Too many uploads in progress, try again shortly");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for an upload slot", ex);
+        }
+    }
+
+    void releaseUploadSlot() {
+        uploadSlots.release();
+    }
+
+    String newKey(Long courseId, String fileName) {
+        return "course_" + courseId + "/" + UUID.randomUUID() + "_" + safeFileName(fileName);
+    }
+
+    boolean isAllowedContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return ALLOWED_CONTENT_TYPES.stream().anyMatch(type::startsWith);
+    }
+
+    // Last path segment only, anything outside [A-Za-z0-9._-] becomes '_'
+    private String safeFileName(String fileName) {
+        String name = fileName == null ? "" : fileName;
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.chars().allMatch(c -> c == '.') ? "file" : name;
+    }
+
+    // Fails the read that goes past maxBytes instead of letting the body run on
+    private static class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        // mark/reset would let a reader count bytes twice
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new PayloadTooLargeException("File is larger than " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB");
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.lms.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Storage backend for lesson media and course covers, picked with media.store (s3 | local).
+ * Keys look like "course_{id}/{uuid}_{name}" and are built by MediaStorageService.
+ */
+public interface MediaStore {
+
+    // Stores the stream under key and returns the public URL of the object; size is -1 when not known up front
+    String store(String key, InputStream input, long size, String contentType) throws IOException;
+
+    // Public URL of a key (no check that the object exists)
+    String urlFor(String key);
+
+    // Removes the objects; missing keys are ignored
+    void delete(Collection<String> keys);
+
+    // Size and content type of a stored object, null if there is no such object
+    StoredMedia describe(String key);
+
+    // Upload URL the browser can PUT to directly, or null when the backend has no such thing
+    DirectUpload createDirectUpload(String key, String contentType, Instant expiresAt);
+
+    // ---- chunked uploads (ResumableUploadService) ----
+
+    // Opens staging for the chunks of key and returns its id: the S3 multipart upload id, a directory locally
+    String startChunkedUpload(String key, String contentType) throws IOException;
+
+    // Stores chunk `index` (from 0), which starts at byte `offset` and is exactly `size` bytes long.
+    // Storing an index again replaces it.
+    void storeChunk(String key, String stagingId, int index, long offset, InputStream data, long size) throws IOException;
+
+    // Joins chunks 0..chunkCount-1 into the object, drops the staging and returns the public URL
+    String completeChunkedUpload(String key, String stagingId, int chunkCount) throws IOException;
+
+    // Drops whatever was staged; unknown ids are ignored
+    void abortChunkedUpload(String key, String stagingId);
+
+    record StoredMedia(long size, String contentType) {
+    }
+
+    // The PUT must carry exactly these headers
+    record DirectUpload(String url, String method, Map<String, String> headers) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.lms.backend.service;
+
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.model.UploadSession;
+import com.lms.backend.model.UploadSession.Status;
+import com.lms.backend.repository.UploadSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable (tus-style) uploads for large lesson media: a session with a fixed chunk size, one PUT per chunk
+ * at the current offset, an offset query to resume from and a final assembly step. The MediaStore stages the
+ * chunks (S3 multipart parts, or a staging file on local disk), so a dropped connection only costs the chunk
+ * that was in flight. Sessions that stop receiving chunks expire and the sweeper drops what they staged.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final List<Status> OPEN = List.of(Status.ACTIVE, Status.ASSEMBLING);
+    private static final List<Status> FINISHED = List.of(Status.COMPLETED, Status.ABORTED, Status.EXPIRED);
+    private static final int SWEEP_BATCH = 100;
+
+    // S3 allows at most 10000 parts per multipart upload
+    private static final long MAX_CHUNKS = 10_000;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Every chunk but the last has exactly this size; S3 needs at least 5MB
+    @Value("${media.resumable.chunk-size:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${media.resumable.max-size:2GB}")
+    private DataSize maxSize;
+
+    // Idle time after which a session expires; every stored chunk starts it again
+    @Value("${media.resumable.session-ttl-minutes:1440}")
+    private long sessionTtlMinutes;
+
+    // How long finished sessions are kept, so a retried "complete" still gets the URL
+    @Value("${media.resumable.retention-days:7}")
+    private long retentionDays;
+
+    // Short transactions for the compare-and-set updates; chunk I/O runs outside of any transaction
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public UploadSession startUpload(Long courseId, Long lessonId, String fileName, String contentType, long size)
+            throws IOException {
+        if (size <= 0 || size > maxSize.toBytes()) {
+            throw new IllegalArgumentException("File size must be between 1 byte and " + maxSize.toMegabytes() + "MB");
+        }
+        if (!mediaStorageService.isAllowedContentType(contentType)) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+        int chunkBytes = (int) chunkSize.toBytes();
+        if (chunkCount(size, chunkBytes) > MAX_CHUNKS) {
+            throw new IllegalArgumentException("File is too large for chunks of " + chunkSize.toMegabytes() + "MB");
+        }
+
+        String key = mediaStorageService.newKey(courseId, fileName);
+        String stagingId = mediaStore.startChunkedUpload(key, contentType);
+
+        LocalDateTime now = LocalDateTime.now();
+        return uploadSessionRepository.save(UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .courseId(courseId)
+                .lessonId(lessonId)
+                .objectKey(key)
+                .contentType(contentType)
+                .totalSize(size)
+                .chunkSize(chunkBytes)
+                .receivedBytes(0)
+                .stagingId(stagingId)
+                .status(Status.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .expiresAt(now.plusMinutes(sessionTtlMinutes))
+                .build());
+    }
+
+    public UploadSession getSession(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + uploadId));
+    }
+
+    // Stores chunk `index` and returns the new offset. Chunks go in order: index * chunkSize must be the
+    // current offset. A chunk that is already stored (a retry whose response got lost) is acknowledged
+    // without reading it; one past the offset is a conflict, the client asks for the offset and resumes there.
+    public long writeChunk(String uploadId, int index, InputStream data, long contentLength) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (session.getStatus() != Status.ACTIVE) {
+            throw new IllegalStateException("Upload " + uploadId + " is " + session.getStatus());
+        }
+
+        long offset = (long) index * session.getChunkSize();
+        if (index < 0 || offset >= session.getTotalSize()) {
+            throw new IllegalArgumentException("Chunk index out of range: " + index);
+        }
+        long received = session.getReceivedBytes();
+        if (offset < received) {
+            return received;
+        }
+        if (offset > received) {
+            throw new IllegalStateException("Upload " + uploadId + " expects the chunk at offset " + received);
+        }
+        long length = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+        if (contentLength != length) {
+            throw new IllegalArgumentException("Chunk " + index + " must be exactly " + length + " bytes");
+        }
+
+        // Same per-node cap as the other uploads through the backend
+        mediaStorageService.acquireUploadSlot();
+        try {
+            mediaStore.storeChunk(session.getObjectKey(), session.getStagingId(), index, offset, data, length);
+        } finally {
+            mediaStorageService.releaseUploadSlot();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transaction.execute(status -> uploadSessionRepository.advanceOffset(
+                uploadId, Status.ACTIVE, offset, offset + length, now, now.plusMinutes(sessionTtlMinutes)));
+        if (updated == null || updated == 0) {
+            // The same chunk stored twice at once is harmless; anything else finished the session meanwhile
+            UploadSession current = getSession(uploadId);
+            if (current.getStatus() != Status.ACTIVE || current.getReceivedBytes() < offset + length) {
+                throw new IllegalStateException("Upload " + uploadId + " changed while chunk " + index + " was stored");
+            }
+            return current.getReceivedBytes();
+        }
+        return offset + length;
+    }
+
+    // Assembles the object once every byte is in and returns its URL; repeating it after success returns the same URL
+    public String completeUpload(String uploadId) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (session.getStatus() == Status.COMPLETED) {
+            return session.getFileUrl();
+        }
+        if (session.getReceivedBytes() != session.getTotalSize()) {
+            throw new IllegalStateException("Upload " + uploadId + " has " + session.getReceivedBytes()
+                    + " of " + session.getTotalSize() + " bytes");
+        }
+        if (!transition(uploadId, Status.ACTIVE, Status.ASSEMBLING)) {
+            throw new IllegalStateException("Upload " + uploadId + " is " + getSession(uploadId).getStatus());
+        }
+
+        try {
+            String fileUrl = mediaStore.completeChunkedUpload(session.getObjectKey(), session.getStagingId(),
+                    (int) chunkCount(session.getTotalSize(), session.getChunkSize()));
+            session.setStatus(Status.COMPLETED);
+            session.setFileUrl(fileUrl);
+            session.setUpdatedAt(LocalDateTime.now());
+            uploadSessionRepository.save(session);
+            return fileUrl;
+        } catch (IOException | RuntimeException ex) {
+            // The staged chunks are still there, so completing can be tried again
+            transition(uploadId, Status.ASSEMBLING, Status.ACTIVE);
+            throw ex;
+        }
+    }
+
+    public void abortUpload(String uploadId) {
+        UploadSession session = getSession(uploadId);
+        if (!transition(uploadId, Status.ACTIVE, Status.ABORTED)) {
+            throw new IllegalStateException("Upload " + uploadId + " is " + session.getStatus());
+        }
+        mediaStore.abortChunkedUpload(session.getObjectKey(), session.getStagingId());
+    }
+
+    // ---- sweeper ----
+
+    // Expires idle sessions and drops their staged chunks (S3 bills for parts of unfinished uploads),
+    // then forgets sessions that finished more than retention-days ago
+    @Scheduled(initialDelayString = "${media.resumable.sweep-interval-ms:600000}",
+            fixedDelayString = "${media.resumable.sweep-interval-ms:600000}")
+    public void sweepExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        List<UploadSession> batch;
+        do {
+            batch = uploadSessionRepository.findByStatusInAndExpiresAtBefore(OPEN, now, PageRequest.of(0, SWEEP_BATCH));
+            for (UploadSession session : batch) {
+                // Re-checks expiresAt, a chunk may have arrived since the query
+                Integer updated = transaction.execute(status ->
+                        uploadSessionRepository.expire(session.getId(), OPEN, Status.EXPIRED, now));
+                if (updated == null || updated == 0) {
+                    continue;
+                }
+                expired++;
+                try {
+                    mediaStore.abortChunkedUpload(session.getObjectKey(), session.getStagingId());
+                } catch (RuntimeException ex) {
+                    System.out.println("Could not drop staged chunks of upload " + session.getId() + ": " + ex.getMessage());
+                }
+            }
+        } while (batch.size() == SWEEP_BATCH);
+
+        Integer purged = transaction.execute(status ->
+                uploadSessionRepository.deleteFinishedBefore(FINISHED, now.minusDays(retentionDays)));
+        if (expired > 0 || (purged != null && purged > 0)) {
+            System.out.println("Upload sweeper: expired " + expired + " sessions, removed " + purged + " finished ones");
+        }
+    }
+
+    private boolean transition(String uploadId, Status from, Status to) {
+        Integer updated = transaction.execute(status ->
+                uploadSessionRepository.transition(uploadId, from, to, LocalDateTime.now()));
+        return updated != null && updated > 0;
+    }
+
+    private static long chunkCount(long size, int chunkBytes) {
+        return (size + chunkBytes - 1) / chunkBytes;
+    }
+}
@@ -0,0 +1,169 @@
+package com.lms.backend.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads large objects as S3 multipart uploads: the stream is cut into fixed-size parts that are sent
+ * concurrently on a shared, bounded pool. Each upload keeps at most `parallelism` parts in memory, a failed
+ * part is retried on its own, and the upload is either completed with every part or aborted.
+ * S3 rejects parts below 5MB (except the last one), so media.upload.part-size must not go under that.
+ */
+@Component
+@ConditionalOnProperty(name = "media.store", havingValue = "s3", matchIfMissing = true)
+public class S3MultipartUploader {
+
+    private final AmazonS3 s3Client;
+    private final int partSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final ExecutorService partExecutor;
+
+    public S3MultipartUploader(AmazonS3 s3Client,
+                               @Value("${media.upload.part-size:8MB}") DataSize partSize,
+                               @Value("${media.upload.parallelism:4}") int parallelism,
+                               @Value("${media.upload.threads:16}") int threads,
+                               @Value("${media.upload.part-attempts:3}") int maxAttempts,
+                               @Value("${media.upload.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.s3Client = s3Client;
+        this.partSize = (int) partSize.toBytes();
+        this.parallelism = Math.max(1, parallelism);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        // Queue needs no bound: every upload holds at most `parallelism` queued or running parts
+        AtomicInteger threadIds = new AtomicInteger();
+        this.partExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "s3-part-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    // Reads the stream to EOF and blocks until the object is stored (or the upload was aborted)
+    public void upload(String bucketName, String key, InputStream input, ObjectMetadata metadata) {
+        String uploadId = s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+
+        Semaphore inFlight = new Semaphore(parallelism);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            byte[] buffer;
+            // Stop reading as soon as a part has failed for good
+            while (failure.get() == null && (buffer = readPart(input)) != null) {
+                inFlight.acquire();
+                byte[] part = buffer;
+                int number = partNumber++;
+                try {
+                    parts.add(partExecutor.submit(() -> {
+                        try {
+                            return uploadPart(bucketName, key, uploadId, number, part);
+                        } catch (Exception ex) {
+                            failure.compareAndSet(null, ex);
+                            throw ex;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (RuntimeException ex) {
+                    inFlight.release();
+                    throw ex;
+                }
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            etags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, etags));
+        } catch (Exception ex) {
+            parts.forEach(part -> part.cancel(true));
+            abortQuietly(bucketName, key, uploadId);
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+            throw new RuntimeException("S3 multipart upload failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    // Next part of the stream, shorter only at EOF; null when nothing is left
+    private byte[] readPart(InputStream input) throws IOException {
+        byte[] buffer = input.readNBytes(partSize);
+        return buffer.length == 0 ? null : buffer;
+    }
+
+    private PartETag uploadPart(String bucketName, String key, String uploadId, int partNumber, byte[] data)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return s3Client.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(data.length)
+                        .withInputStream(new ByteArrayInputStream(data))).getPartETag();
+            } catch (RuntimeException ex) {
+                // Client errors (bad upload id, access denied) will not get better on retry
+                boolean clientError = ex instanceof AmazonServiceException service && service.getStatusCode() < 500;
+                if (clientError || attempt >= maxAttempts) {
+                    throw ex;
+                }
+                System.out.println("Retrying S3 part " + partNumber + " of " + key + " (attempt " + attempt + "): " + ex.getMessage());
+                Thread.sleep(retryBackoffMs * attempt);
+            }
+        }
+    }
+
+    private void abortQuietly(String bucketName, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (Exception ex) {
+            // Left for the bucket's abort-incomplete-multipart lifecycle rule
+            System.out.println("Could not abort multipart upload " + uploadId + " for " + key + ": " + ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+    }
+}
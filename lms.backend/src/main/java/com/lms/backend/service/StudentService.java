@@ -1,6 +1,12 @@
 // StudentService.java - COMPLETE INTERFACE
 package com.lms.backend.service;
 
+import com.lms.backend.dto.CourseCardDto;
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CourseProgressDto;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.dto.ProgressSyncItem;
+import com.lms.backend.dto.ProgressSyncResult;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
 
@@ -17,10 +23,19 @@ public interface StudentService {
     Map<String, Object> getCourseWithProgress(User student, Long courseId);
     void markLessonCompleted(User student, Long courseId, Long lessonId);
     Map<String, Object> getLearningStats(User student);
-    Map<String, Object> getCourseProgress(User student, Long courseId);
+    // Bulk upload of offline completions, each affected enrollment is recomputed once
+    ProgressSyncResult syncProgress(User student, List<ProgressSyncItem> items);
+    // Buffered time-spent heartbeat, false when the buffer is full
+    boolean recordLessonHeartbeat(User student, Long courseId, Long lessonId, int seconds);
+    CourseProgressDto getCourseProgress(User student, Long courseId);
 
     // Course discovery methods
     List<Course> getAvailableCourses(User student);
+    CursorPage<CourseCardDto> getAvailableCoursesPage(User student, String cursor, int size);
 
-    List<Course> getCourseCatalog();
+    List<CourseDto> getCourseCatalog();
+    List<CourseDto> getCourseCatalogByCategory(Long categoryId);
+
+    // Keyset-paginated catalog cards (newest first), cursor is null for the first page
+    CursorPage<CourseCardDto> getCatalogPage(String cursor, int size);
 }
\ No newline at end of file
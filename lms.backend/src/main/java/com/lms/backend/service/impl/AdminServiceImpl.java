@@ -1,24 +1,59 @@
 package com.lms.backend.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms.backend.controller.AdminController;
+import com.lms.backend.dto.AdminUserRow;
+import com.lms.backend.dto.BulkModerationResult;
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.ActivityEvent.ActivityType;
 import com.lms.backend.model.Course;
+import com.lms.backend.model.DeletionJob;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.UserStatusCache;
+import com.lms.backend.service.ActivityFeed;
 import com.lms.backend.service.AdminService;
+import com.lms.backend.service.AdminStatsSnapshot;
+import com.lms.backend.service.CourseCatalogCache;
+import com.lms.backend.service.DeletionJobService;
 import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.KeysetCursor;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +71,168 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+
+    @Autowired
+    private AdminStatsSnapshot adminStatsSnapshot;
+
+    @Autowired
+    private ActivityFeed activityFeed;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    @Value("${admin.moderation.max-batch:1000}")
+    private int maxModerationBatch;
+
+    @Value("${admin.users.export-fetch-size:500}")
+    private int exportFetchSize;
+
+    // Read-only transaction for the export; keeps autocommit off so the driver honours the fetch size
+    private TransactionTemplate exportTransaction;
+
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+    private static final int MAX_USER_PAGE_SIZE = 200;
+
+    @PostConstruct
+    void init() {
+        exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public CursorPage<AdminUserRow> getUsersPage(String cursor, int size, String role, String emailPrefix) {
+        int pageSize = Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<AdminUserRow> rows = userRepository.findAdminUserRows(after != null ? after.id() : 0L,
+                parseRoleFilter(role), emailPrefixPattern(emailPrefix), PageRequest.of(0, pageSize + 1));
+
+        return CursorPage.fromRows(rows, pageSize, row -> KeysetCursor.of(null, row.getId()));
+    }
+
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public StreamingResponseBody exportUsers(String format, String role, String emailPrefix) {
+        // Validated here, before the response is committed
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        Role.RoleName roleFilter = parseRoleFilter(role);
+        String pattern = emailPrefixPattern(emailPrefix);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.id, u.username, u.email, r.name FROM users u LEFT JOIN roles r ON r.id = u.role_id " +
+                "WHERE (u.pending_delete IS NULL OR u.pending_delete = false)");
+        List<Object> params = new ArrayList<>();
+        if (roleFilter != null) {
+            sql.append(" AND r.name = ?");
+            params.add(roleFilter.name());
+        }
+        if (pattern != null) {
+            sql.append(" AND u.email LIKE ? ESCAPE '\\'");
+            params.add(pattern);
+        }
+        sql.append(" ORDER BY u.id");
+
+        // Runs later on the async request thread
+        return out -> exportTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long[] exported = {0};
+            try {
+                if (csv) {
+                    writer.write("id,username,email,role\n");
+                }
+                // Forward-only cursor inside a read-only transaction, so the driver streams
+                // exportFetchSize rows at a time instead of buffering the whole result
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql.toString(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(exportFetchSize);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    return ps;
+                }, (ResultSet rs) -> {
+                    try {
+                        if (csv) {
+                            writer.write(rs.getLong(1) + "," + csvField(rs.getString(2)) + ","
+                                    + csvField(rs.getString(3)) + "," + csvField(rs.getString(4)) + "\n");
+                        } else {
+                            Map<String, Object> row = new LinkedHashMap<>();
+                            row.put("id", rs.getLong(1));
+                            row.put("username", rs.getString(2));
+                            row.put("email", rs.getString(3));
+                            row.put("role", rs.getString(4));
+                            writer.write(objectMapper.writeValueAsString(row));
+                            writer.write('\n');
+                        }
+                        exported[0]++;
+                    } catch (IOException e) {
+                        // Client went away, abort the query instead of reading the rest
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println("Exported " + exported[0] + " users as " + format.toLowerCase());
+        });
+    }
+
+    // null / blank / ALL means no role filter
+    private Role.RoleName parseRoleFilter(String role) {
+        if (role == null || role.isBlank() || "ALL".equalsIgnoreCase(role)) {
+            return null;
+        }
+        try {
+            return Role.RoleName.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role name: " + role);
+        }
+    }
+
+    // "abc" -> "abc%" with LIKE wildcards escaped, so the email index can serve the prefix match
+    private String emailPrefixPattern(String emailPrefix) {
+        if (emailPrefix == null || emailPrefix.isBlank()) {
+            return null;
+        }
+        return emailPrefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    // Quotes when needed and defuses spreadsheet formulas (=, +, -, @)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 
     @Override
@@ -70,36 +264,48 @@ public class AdminServiceImpl implements AdminService {
                 .role(role)
                 .build();
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        adminStatsSnapshot.markStale();
+        return savedUser;
     }
 
     @Override
     public List<CourseDto> getPendingCourses() {
         // Return all courses that are not approved yet
-        List<Course> pendingCourses = courseRepository.findByApprovedFalse();
+        List<Course> pendingCourses = courseRepository.findAwaitingApproval();
         return pendingCourses.stream()
                 .map(CourseMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CourseDto approveCourse(Long courseId) {
+        // A course being deleted must not reappear in the catalog
         Course course = courseRepository.findById(courseId)
+                .filter(c -> !c.isPendingDelete())
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
         course.setApproved(true);
         Course approvedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(approvedCourse));
+        eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.COURSE_APPROVED, null, courseId,
+                "Course \"" + course.getTitle() + "\" was approved"));
 
         return CourseMapper.toDto(approvedCourse);
     }
 
     @Override
+    @Transactional
     public CourseDto rejectCourse(Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-        // Option 1: Delete the course
-        courseRepository.delete(course);
+        // Hidden right away, lessons / enrollments / media are removed in the background
+        deletionJobService.scheduleCourseDeletion(courseId);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(course));
+        eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.COURSE_REJECTED, null, courseId,
+                "Course \"" + course.getTitle() + "\" was rejected"));
 
         // Option 2: Or just mark as rejected (if you have rejected field)
         // course.setRejected(true);
@@ -108,11 +314,10 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
-        }
-        userRepository.deleteById(userId);
+    @Transactional
+    public DeletionJob deleteUser(Long userId) {
+        // Locked out now; courses, enrollments, progress and the row itself go in the background
+        return deletionJobService.scheduleUserDeletion(userId);
     }
 
     @Override
@@ -131,82 +336,114 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
 
         user.setRole(role);
-        return userRepository.save(user);
+        User updatedUser = userRepository.save(user);
+
+        // Existing tokens pick up the new role on their next request
+        userStatusCache.evict(userId);
+        adminStatsSnapshot.markStale();
+        return updatedUser;
     }
 
     @Override
     public Map<String, Object> getAdminStats() {
-        long totalUsers = userRepository.count();
-        long totalCourses = courseRepository.count();
-
-        // Count pending courses (not approved)
-        long pendingCourses = courseRepository.findAll().stream()
-                .filter(course -> !course.isApproved())
-                .count();
-
-        // Count users by role
-        long totalStudents = userRepository.findAll().stream()
-                .filter(user -> user.getRole() != null &&
-                        user.getRole().getName().equals(Role.RoleName.ROLE_STUDENT))
-                .count();
-
-        long totalInstructors = userRepository.findAll().stream()
-                .filter(user -> user.getRole() != null &&
-                        user.getRole().getName().equals(Role.RoleName.ROLE_INSTRUCTOR))
-                .count();
-
-        long totalAdmins = userRepository.findAll().stream()
-                .filter(user -> user.getRole() != null &&
-                        user.getRole().getName().equals(Role.RoleName.ROLE_ADMIN))
-                .count();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", totalUsers);
-        stats.put("totalCourses", totalCourses);
-        stats.put("pendingCourses", pendingCourses);
-        stats.put("totalStudents", totalStudents);
-        stats.put("totalInstructors", totalInstructors);
-        stats.put("totalAdmins", totalAdmins);
-        stats.put("totalRevenue", 284500); // Static for now
-
-        return stats;
+        // Precomputed from aggregate queries, see AdminStatsSnapshot
+        return adminStatsSnapshot.get();
     }
 
     @Override
     public List<Map<String, Object>> getRecentActivity() {
-        try {
-            // Get recent courses (last 5)
-            List<Course> recentCourses = courseRepository.findAll().stream()
-                    .sorted((c1, c2) -> c2.getCreatedAt().compareTo(c1.getCreatedAt()))
-                    .limit(5)
-                    .toList();
-
-            // Convert to activity format
-            if (!recentCourses.isEmpty()) {
-                return recentCourses.stream().map(course -> {
-                    Map<String, Object> activity = new HashMap<>();
-                    activity.put("id", course.getId());
-                    activity.put("type", "course");
-                    activity.put("message",
-                            course.isApproved() ?
-                                    "Course \"" + course.getTitle() + "\" was approved" :
-                                    "Course \"" + course.getTitle() + "\" submitted for approval"
-                    );
-                    activity.put("time", formatTimeAgo(course.getCreatedAt()));
-                    activity.put("icon", course.isApproved() ? "✅" : "📚");
-                    return activity;
-                }).toList();
+        // Served from the in-memory feed, never from the domain tables
+        return activityFeed.recent(RECENT_ACTIVITY_LIMIT).stream().map(event -> {
+            Map<String, Object> activity = new HashMap<>();
+            activity.put("id", event.getId());
+            activity.put("type", event.getType().name());
+            activity.put("message", event.getMessage());
+            activity.put("time", formatTimeAgo(event.getCreatedAt()));
+            activity.put("icon", activityIcon(event.getType()));
+            return activity;
+        }).toList();
+    }
+
+    @Override
+    @Transactional
+    public BulkModerationResult approveCourses(List<Long> courseIds) {
+        ModerationBatch batch = loadModerationBatch(courseIds);
+        int applied = batch.pendingIds().isEmpty() ? 0 : courseRepository.approvePending(batch.pendingIds());
+        batch.pendingIds().forEach(id -> batch.outcomes().put(id, "APPROVED"));
+
+        publishModerationEvents(batch, ActivityType.COURSE_APPROVED, "approved");
+        System.out.println("Bulk approved " + applied + " of " + batch.outcomes().size() + " courses");
+        return new BulkModerationResult(batch.outcomes().size(), applied, batch.outcomes());
+    }
+
+    @Override
+    @Transactional
+    public BulkModerationResult rejectCourses(List<Long> courseIds) {
+        ModerationBatch batch = loadModerationBatch(courseIds);
+        int applied = 0;
+        if (!batch.pendingIds().isEmpty()) {
+            // Same end result as rejectCourse: one UPDATE hides them all, deletion jobs do the rest
+            applied = deletionJobService.scheduleCourseDeletions(batch.pendingIds()).size();
+        }
+        batch.pendingIds().forEach(id -> batch.outcomes().put(id, "REJECTED"));
+
+        publishModerationEvents(batch, ActivityType.COURSE_REJECTED, "rejected");
+        System.out.println("Bulk rejected " + applied + " of " + batch.outcomes().size() + " courses");
+        return new BulkModerationResult(batch.outcomes().size(), applied, batch.outcomes());
+    }
+
+    // Outcomes start as NOT_FOUND / ALREADY_APPROVED; pending ids are filled in by the caller
+    private record ModerationBatch(Map<Long, String> outcomes, List<Long> pendingIds,
+                                   List<String> pendingTitles, Set<Long> categoryIds) {
+    }
+
+    private ModerationBatch loadModerationBatch(List<Long> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new IllegalArgumentException("No course ids given");
+        }
+        Set<Long> ids = new LinkedHashSet<>(courseIds);
+        ids.remove(null);
+        if (ids.size() > maxModerationBatch) {
+            throw new IllegalArgumentException("At most " + maxModerationBatch + " courses per request");
+        }
+
+        Map<Long, String> outcomes = new LinkedHashMap<>();
+        ids.forEach(id -> outcomes.put(id, "NOT_FOUND"));
+
+        List<Long> pendingIds = new ArrayList<>();
+        List<String> pendingTitles = new ArrayList<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (Object[] row : courseRepository.findModerationStates(ids)) {
+            Long id = (Long) row[0];
+            if (Boolean.TRUE.equals(row[1])) {
+                outcomes.put(id, "ALREADY_APPROVED");
+                continue;
+            }
+            pendingIds.add(id);
+            pendingTitles.add((String) row[2]);
+            if (row[3] != null) {
+                categoryIds.add((Long) row[3]);
             }
-        } catch (Exception e) {
-            System.out.println("Error fetching recent activities: " + e.getMessage());
         }
+        return new ModerationBatch(outcomes, pendingIds, pendingTitles, categoryIds);
+    }
 
-        // Fallback to mock data if no courses or error
-        return List.of(
-                Map.of("action", "User registered", "description", "New student joined", "timestamp", new Date(), "icon", "👤"),
-                Map.of("action", "Course created", "description", "New course added by instructor", "timestamp", new Date(), "icon", "📚"),
-                Map.of("action", "User role updated", "description", "Admin updated user permissions", "timestamp", new Date(), "icon", "⚙️")
-        );
+    // One cache invalidation and one feed entry for the whole batch
+    private void publishModerationEvents(ModerationBatch batch, ActivityType type, String verb) {
+        if (batch.pendingIds().isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent(batch.categoryIds()));
+        String message = batch.pendingIds().size() == 1
+                ? "Course \"" + batch.pendingTitles().get(0) + "\" was " + verb
+                : batch.pendingIds().size() + " courses were " + verb;
+        Long courseId = batch.pendingIds().size() == 1 ? batch.pendingIds().get(0) : null;
+        eventPublisher.publishEvent(new ActivityOccurredEvent(type, null, courseId, message));
+    }
+
+    @Override
+    public Map<String, Object> getCatalogCacheStats() {
+        return courseCatalogCache.stats();
     }
 
     // ✅ HELPER METHOD FOR TIME FORMAT
@@ -216,4 +453,15 @@ public class AdminServiceImpl implements AdminService {
         }
         return dateTime.toLocalDate().toString();
     }
+
+    private String activityIcon(ActivityType type) {
+        return switch (type) {
+            case USER_REGISTERED -> "👤";
+            case ENROLLED -> "🎓";
+            case COURSE_CREATED -> "📚";
+            case COURSE_APPROVED -> "✅";
+            case COURSE_REJECTED -> "❌";
+            case LESSON_COMPLETED -> "📖";
+        };
+    }
 }
\ No newline at end of file
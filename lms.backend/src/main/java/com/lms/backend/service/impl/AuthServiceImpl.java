@@ -5,6 +5,7 @@ import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.JwtUserPrincipal;
 import com.lms.backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -12,8 +13,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 public class AuthServiceImpl implements AuthService {
 
@@ -28,37 +27,20 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public User getCurrentUser() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-            System.out.println("AUTH DEBUG - Authentication: " + authentication);
-            System.out.println("AUTH DEBUG - Name: " + (authentication != null ? authentication.getName() : "NULL"));
-            System.out.println("AUTH DEBUG - Authenticated: " + (authentication != null ? authentication.isAuthenticated() : "NULL"));
-
-            if (authentication == null || !authentication.isAuthenticated()) {
-                System.out.println("USER NOT AUTHENTICATED");
-                throw new RuntimeException("User not authenticated");
-            }
-
-            String email = authentication.getName();
-            System.out.println("Looking for user with email: " + email);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            Optional<User> userOptional = userRepository.findByEmail(email);
-
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
-                System.out.println("FOUND USER - ID: " + user.getId() + ", Email: " + user.getEmail());
-                return user;
-            } else {
-                System.out.println("USER NOT FOUND IN DATABASE: " + email);
-                throw new RuntimeException("User not found with email: " + email);
-            }
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("User not authenticated");
+        }
 
-        } catch (Exception e) {
-            System.out.println("ERROR in getCurrentUser: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Authentication failed: " + e.getMessage());
+        // Stateless JWT principal already carries the id: hand out a lazy reference, no query
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return userRepository.getReferenceById(principal.getId());
         }
+
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
 
     @Override
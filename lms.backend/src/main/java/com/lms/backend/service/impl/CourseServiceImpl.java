@@ -1,9 +1,14 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.ActivityEvent.ActivityType;
 import com.lms.backend.model.Course;
 import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.service.CourseService;
+import com.lms.backend.service.DeletionJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,9 +19,20 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
     @Override
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(savedCourse));
+        eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.COURSE_CREATED,
+                savedCourse.getInstructor() != null ? savedCourse.getInstructor().getId() : null, savedCourse.getId(),
+                "Course \"" + savedCourse.getTitle() + "\" was created"));
+        return savedCourse;
     }
 
     @Override
@@ -31,12 +47,18 @@ public class CourseServiceImpl implements CourseService {
 
         Course savedCourse = courseRepository.save(course);
         System.out.println("Updated course - ID: " + savedCourse.getId() + ", Approved: " + savedCourse.isApproved());
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(savedCourse));
         return savedCourse;
     }
 
     @Override
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        Long categoryId = course.getCategory() != null ? course.getCategory().getId() : null;
+        // Hidden right away, lessons / enrollments / media are removed in the background
+        deletionJobService.scheduleCourseDeletion(id);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCategories(categoryId));
     }
 
     @Override
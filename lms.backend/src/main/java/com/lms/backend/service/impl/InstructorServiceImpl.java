@@ -1,14 +1,25 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.dto.CourseRosterRow;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.ActivityEvent.ActivityType;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
 import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.DeletionJobService;
 import com.lms.backend.service.InstructorService;
+import com.lms.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,15 +29,29 @@ import java.util.Optional;
 @Service
 public class InstructorServiceImpl implements InstructorService {
 
+    private static final int MAX_ROSTER_PAGE_SIZE = 200;
+
+    // Progress moves in steps of 100 / totalLessons, so any started enrollment is at least this
+    private static final double MIN_STARTED_PROGRESS = 0.000001;
+
     @Autowired
     private CourseRepository courseRepository;
 
     @Autowired
     private LessonRepository lessonRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
     // CREATE NEW COURSE
     @Override
     public Course createCourse(Course course, Long instructorId) {
@@ -37,7 +62,10 @@ public class InstructorServiceImpl implements InstructorService {
         course.setInstructor(instructor);
         course.setApproved(false); // Default: needs admin approval
 
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.COURSE_CREATED, instructorId, savedCourse.getId(),
+                "Course \"" + savedCourse.getTitle() + "\" submitted for approval by " + instructor.getUsername()));
+        return savedCourse;
     }
 
     // GET INSTRUCTOR'S COURSES
@@ -46,7 +74,7 @@ public class InstructorServiceImpl implements InstructorService {
         User instructor = userRepository.findById(instructorId)
                 .orElseThrow(() -> new RuntimeException("Instructor not found"));
 
-        return courseRepository.findByInstructor(instructor);
+        return courseRepository.findActiveByInstructor(instructor);
     }
 
     // UPDATE COURSE
@@ -61,7 +89,9 @@ public class InstructorServiceImpl implements InstructorService {
         existingCourse.setPrice(updatedCourse.getPrice());
         existingCourse.setCoverImageUrl(updatedCourse.getCoverImageUrl());
 
-        return courseRepository.save(existingCourse);
+        Course savedCourse = courseRepository.save(existingCourse);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(savedCourse));
+        return savedCourse;
     }
 
     // DELETE COURSE
@@ -70,7 +100,9 @@ public class InstructorServiceImpl implements InstructorService {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-        courseRepository.delete(course);
+        // Hidden right away, lessons / enrollments / media are removed in the background
+        deletionJobService.scheduleCourseDeletion(courseId);
+        eventPublisher.publishEvent(CourseCatalogChangedEvent.forCourse(course));
     }
 
     // GET COURSE BY ID
@@ -82,11 +114,14 @@ public class InstructorServiceImpl implements InstructorService {
 
     // ADD LESSON TO COURSE
     @Override
+    @Transactional
     public Lesson addLesson(Long courseId, Lesson lesson) {
         Course course = getCourseById(courseId);
         lesson.setCourse(course);
 
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        refreshLessonCounters(courseId);
+        return saved;
     }
 
     //  GET LESSONS BY COURSE
@@ -114,11 +149,13 @@ public class InstructorServiceImpl implements InstructorService {
 
     // DELETE LESSON
     @Override
+    @Transactional
     public void deleteLesson(Long lessonId) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
 
         lessonRepository.delete(lesson);
+        refreshLessonCounters(lesson.getCourse().getId());
     }
 
     @Override
@@ -129,9 +166,74 @@ public class InstructorServiceImpl implements InstructorService {
         Map<String, Object> stats = new HashMap<>();
         stats.put("course", course);
         stats.put("enrollmentCount", course.getEnrollmentCount());
-        stats.put("totalLessons", course.getLessons() != null ? course.getLessons().size() : 0);
+        stats.put("totalLessons", lessonRepository.countByCourse(course));
         stats.put("totalRevenue", course.getPrice() * course.getEnrollmentCount());
 
         return stats;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CursorPage<CourseRosterRow> getCourseRoster(Long courseId, String cursor, int size, String sort, String band) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_ROSTER_PAGE_SIZE));
+        double[] range = progressBand(band);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        String order = sort == null || sort.isBlank() ? "recent" : sort.toLowerCase();
+        switch (order) {
+            case "recent" -> {
+                List<CourseRosterRow> rows = enrollmentRepository.findRosterByRecent(courseId, range[0], range[1],
+                        after != null ? after.id() : Long.MAX_VALUE, limit);
+                return CursorPage.fromRows(rows, pageSize, row -> KeysetCursor.of(null, row.getEnrollmentId()));
+            }
+            case "progress" -> {
+                List<CourseRosterRow> rows = enrollmentRepository.findRosterByProgressDesc(courseId, range[0], range[1],
+                        after != null ? after.sortKeyAsDouble() : Double.MAX_VALUE,
+                        after != null ? after.id() : Long.MAX_VALUE, limit);
+                return CursorPage.fromRows(rows, pageSize, row -> KeysetCursor.of(row.getProgress(), row.getEnrollmentId()));
+            }
+            case "progress_asc" -> {
+                List<CourseRosterRow> rows = enrollmentRepository.findRosterByProgressAsc(courseId, range[0], range[1],
+                        after != null ? after.sortKeyAsDouble() : -1.0,
+                        after != null ? after.id() : 0L, limit);
+                return CursorPage.fromRows(rows, pageSize, row -> KeysetCursor.of(row.getProgress(), row.getEnrollmentId()));
+            }
+            default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getRosterSummary(Long courseId) {
+        Object[] row = enrollmentRepository.summarizeRoster(courseId).get(0);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalStudents", ((Number) row[0]).longValue());
+        summary.put("completed", ((Number) row[1]).longValue());
+        summary.put("inProgress", ((Number) row[2]).longValue());
+        summary.put("averageProgress", Math.round(((Number) row[3]).doubleValue()));
+        return summary;
+    }
+
+    // [min, max) progress range of a completion band
+    private double[] progressBand(String band) {
+        String value = band == null || band.isBlank() ? "all" : band.toLowerCase();
+        return switch (value) {
+            case "all" -> new double[]{0.0, Double.MAX_VALUE};
+            case "not_started" -> new double[]{0.0, MIN_STARTED_PROGRESS};
+            case "in_progress" -> new double[]{MIN_STARTED_PROGRESS, 100.0};
+            case "completed" -> new double[]{100.0, Double.MAX_VALUE};
+            default -> throw new IllegalArgumentException("Unknown band: " + band);
+        };
+    }
+
+    // Lesson count changed, so every enrollment's totals and percentage change with it
+    private void refreshLessonCounters(Long courseId) {
+        lessonRepository.flush();
+        enrollmentRepository.recountLessonCounters(courseId);
+        enrollmentRepository.refreshProgress(courseId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.dto.LearningStreakDto;
+import com.lms.backend.model.StudentActivity;
+import com.lms.backend.repository.StudentActivityRepository;
+import com.lms.backend.service.LearningActivityService;
+import com.lms.backend.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class LearningActivityServiceImpl implements LearningActivityService {
+
+    @Autowired
+    private StudentActivityRepository studentActivityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${activity.recorded-today.max-entries:50000}")
+    private int recordedTodayMaxEntries;
+
+    // studentId -> day already written, expires at the next midnight
+    private BoundedCache<Long, LocalDate> recordedToday;
+
+    // Own transaction so a failed activity write never rolls back the caller's work
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    void init() {
+        recordedToday = new BoundedCache<>(recordedTodayMaxEntries);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordActivity(Long studentId) {
+        LocalDate today = LocalDate.now();
+        if (today.equals(recordedToday.get(studentId))) {
+            return;
+        }
+
+        try {
+            writeTransaction.executeWithoutResult(status -> setActiveDay(studentId, today));
+            long midnight = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            recordedToday.put(studentId, today, midnight);
+        } catch (Exception e) {
+            // Retried on the student's next request
+            System.err.println("Could not record activity for student " + studentId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordActivityDays(Long studentId, Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        try {
+            // One locked row per year touched
+            writeTransaction.executeWithoutResult(status -> days.stream()
+                    .collect(Collectors.groupingBy(LocalDate::getYear))
+                    .forEach((year, yearDays) -> setActiveDays(studentId, year, yearDays)));
+        } catch (Exception e) {
+            System.err.println("Could not record activity for student " + studentId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public LearningStreakDto getStreak(Long studentId) {
+        List<StudentActivity> years = studentActivityRepository.findByStudentIdOrderByYearAsc(studentId);
+        if (years.isEmpty()) {
+            return new LearningStreakDto(0, 0);
+        }
+
+        // Stitch the yearly bitmaps into one, bit 0 = Jan 1 of the first recorded year
+        LocalDate origin = LocalDate.of(years.get(0).getYear(), 1, 1);
+        BitSet days = new BitSet();
+        for (StudentActivity year : years) {
+            int offset = (int) ChronoUnit.DAYS.between(origin, LocalDate.of(year.getYear(), 1, 1));
+            BitSet bits = BitSet.valueOf(year.getActiveDays());
+            for (int day = bits.nextSetBit(0); day >= 0; day = bits.nextSetBit(day + 1)) {
+                days.set(offset + day);
+            }
+        }
+
+        int today = (int) ChronoUnit.DAYS.between(origin, LocalDate.now());
+        return new LearningStreakDto(currentRun(days, today), longestRun(days));
+    }
+
+    private void setActiveDay(Long studentId, LocalDate day) {
+        setActiveDays(studentId, day.getYear(), List.of(day));
+    }
+
+    private void setActiveDays(Long studentId, int year, List<LocalDate> days) {
+        StudentActivity activity = studentActivityRepository.findForUpdate(studentId, year)
+                .orElseGet(() -> StudentActivity.builder()
+                        .studentId(studentId)
+                        .year(year)
+                        .activeDays(new byte[0])
+                        .build());
+
+        BitSet bits = BitSet.valueOf(activity.getActiveDays());
+        BitSet before = (BitSet) bits.clone();
+        days.forEach(day -> bits.set(day.getDayOfYear() - 1));
+        if (bits.equals(before)) {
+            return;
+        }
+        activity.setActiveDays(bits.toByteArray());
+        studentActivityRepository.save(activity);
+    }
+
+    // Run of set bits ending at today, or at yesterday while today has no activity yet
+    private static int currentRun(BitSet days, int today) {
+        int end = today >= 0 && days.get(today) ? today : today - 1;
+        if (end < 0 || !days.get(end)) {
+            return 0;
+        }
+        return end - days.previousClearBit(end);
+    }
+
+    private static int longestRun(BitSet days) {
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+}
@@ -3,10 +3,12 @@ package com.lms.backend.service.impl;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
 import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.service.LessonService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,6 +21,9 @@ public class LessonServiceImpl implements LessonService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
     @Override
     public List<Lesson> getLessonsByCourseId(Long courseId) {
         Course course = courseRepository.findById(courseId)
@@ -33,11 +38,14 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
+    @Transactional
     public Lesson createLesson(Long courseId, Lesson lesson) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         lesson.setCourse(course);
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        refreshLessonCounters(courseId);
+        return saved;
     }
 
     @Override
@@ -52,9 +60,18 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
+    @Transactional
     public void deleteLesson(Long id) {
         Lesson lesson = getLessonById(id);
         lessonRepository.delete(lesson);
+        refreshLessonCounters(lesson.getCourse().getId());
+    }
+
+    // Lesson count changed, so every enrollment's totals and percentage change with it
+    private void refreshLessonCounters(Long courseId) {
+        lessonRepository.flush();
+        enrollmentRepository.recountLessonCounters(courseId);
+        enrollmentRepository.refreshProgress(courseId);
     }
 
     // ✅ NEW METHOD IMPLEMENTATION
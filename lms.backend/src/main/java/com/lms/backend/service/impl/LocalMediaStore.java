@@ -0,0 +1,205 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.service.MediaStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Media on local disk under media.local.root-dir, served by LocalMediaController at
+ * {media.local.base-url}/api/media/files/{key}. For on-prem installs, development and load tests without AWS.
+ * Chunked uploads are staged in media.local.staging-dir, which is not served and should be on the same file system.
+ * The validated content type of each file is kept in a sidecar under {root-dir}/.meta and is what the file is served as;
+ * the file name extension is never trusted for that.
+ */
+@Service
+@ConditionalOnProperty(name = "media.store", havingValue = "local")
+public class LocalMediaStore implements MediaStore {
+
+    public static final String FILES_PATH = "/api/media/files/";
+
+    // Sidecars mirror the key's path; generated keys start with "course_", so they can never collide
+    private static final String META_DIR = ".meta";
+
+    private final Path rootDir;
+    private final String baseUrl;
+    private final Path stagingDir;
+
+    public LocalMediaStore(@Value("${media.local.root-dir:./media-store}") String rootDir,
+                           @Value("${media.local.base-url:http://localhost:8080}") String baseUrl,
+                           @Value("${media.local.staging-dir:./media-staging}") String stagingDir) throws IOException {
+        this.rootDir = Path.of(rootDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.stagingDir = Path.of(stagingDir).toAbsolutePath().normalize();
+        Files.createDirectories(this.rootDir);
+        Files.createDirectories(this.stagingDir);
+    }
+
+    // Written to a temp file next to the target and moved into place, so readers never see half a file
+    @Override
+    public String store(String key, InputStream input, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // Type first, so the file is never visible without it
+        if (contentType != null) {
+            writeContentType(key, contentType);
+        }
+        Path partial = Files.createTempFile(target.getParent(), ".upload-", ".part");
+        try {
+            Files.copy(input, partial, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return urlFor(key);
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return baseUrl + FILES_PATH + key;
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+                Files.deleteIfExists(metaFile(key));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    @Override
+    public StoredMedia describe(String key) {
+        Path file = resolve(key);
+        try {
+            return Files.isRegularFile(file) ? new StoredMedia(Files.size(file), contentTypeOf(key)) : null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Browsers cannot write to our disk directly; callers fall back to uploading through the backend
+    @Override
+    public DirectUpload createDirectUpload(String key, String contentType, Instant expiresAt) {
+        return null;
+    }
+
+    // One staging file per upload; every chunk is written straight to its offset,
+    // so completing is a rename instead of concatenating chunk files
+    @Override
+    public String startChunkedUpload(String key, String contentType) throws IOException {
+        // The key is not served until completion moves the file there
+        writeContentType(key, contentType);
+        String stagingId = UUID.randomUUID().toString();
+        Files.createFile(stagingFile(stagingId));
+        return stagingId;
+    }
+
+    @Override
+    public void storeChunk(String key, String stagingId, int index, long offset, InputStream data, long size) throws IOException {
+        Path staged = stagingFile(stagingId);
+        if (!Files.isRegularFile(staged)) {
+            throw new IllegalArgumentException("Unknown upload staging: " + stagingId);
+        }
+        try (FileChannel out = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+            ReadableByteChannel in = Channels.newChannel(data);
+            long written = 0;
+            while (written < size) {
+                long count = out.transferFrom(in, offset + written, size - written);
+                if (count <= 0) {
+                    break;
+                }
+                written += count;
+            }
+            if (written != size) {
+                throw new IOException("Chunk " + index + " of " + key + " ended after " + written + " of " + size + " bytes");
+            }
+        }
+    }
+
+    @Override
+    public String completeChunkedUpload(String key, String stagingId, int chunkCount) throws IOException {
+        Path staged = stagingFile(stagingId);
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            // Staging on another file system: copy next to the target first, then rename
+            try (InputStream input = Files.newInputStream(staged)) {
+                store(key, input, Files.size(staged), null);
+            }
+            Files.delete(staged);
+        }
+        return urlFor(key);
+    }
+
+    @Override
+    public void abortChunkedUpload(String key, String stagingId) {
+        try {
+            Files.deleteIfExists(stagingFile(stagingId));
+            Files.deleteIfExists(metaFile(key));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Staging ids are UUIDs we generated, anything else is rejected before it can touch the path
+    private Path stagingFile(String stagingId) {
+        return stagingDir.resolve(UUID.fromString(stagingId) + ".upload");
+    }
+
+    // File for a key; keys that would leave the root directory or point into the sidecars are rejected
+    public Path resolve(String key) {
+        Path file = rootDir.resolve(key).normalize();
+        if (!file.startsWith(rootDir) || file.equals(rootDir) || file.startsWith(rootDir.resolve(META_DIR))) {
+            throw new IllegalArgumentException("Invalid media key: " + key);
+        }
+        return file;
+    }
+
+    // The type recorded at upload; files stored before sidecars existed fall back to their extension
+    public String contentTypeOf(String key) {
+        Path meta = metaFile(key);
+        try {
+            if (Files.isRegularFile(meta)) {
+                return Files.readString(meta).trim();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return MediaTypeFactory.getMediaType(resolve(key).getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    // Parsed and re-rendered, so only a well-formed type ever ends up in a response header
+    private void writeContentType(String key, String contentType) throws IOException {
+        Path meta = metaFile(key);
+        Files.createDirectories(meta.getParent());
+        Files.writeString(meta, MediaType.parseMediaType(contentType).toString());
+    }
+
+    private Path metaFile(String key) {
+        return rootDir.resolve(META_DIR).resolve(rootDir.relativize(resolve(key)) + ".type");
+    }
+}
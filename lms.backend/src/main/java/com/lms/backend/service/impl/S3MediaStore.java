@@ -0,0 +1,173 @@
+package com.lms.backend.service.impl;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.lms.backend.service.MediaStore;
+import com.lms.backend.service.S3MultipartUploader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Default backend: public-read objects in the aws.s3.bucket-name bucket
+@Service
+@ConditionalOnProperty(name = "media.store", havingValue = "s3", matchIfMissing = true)
+public class S3MediaStore implements MediaStore {
+
+    // S3 DeleteObjects limit
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
+    @Autowired
+    private AmazonS3 s3Client;
+
+    @Autowired
+    private S3MultipartUploader multipartUploader;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    // Files at least this big go up as parallel multipart uploads instead of one putObject
+    @Value("${media.upload.multipart-threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Override
+    public String store(String key, InputStream input, long size, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+
+        // Unknown length (streamed request bodies) also goes multipart, putObject needs the length up front
+        if (size < 0 || size >= multipartThreshold.toBytes()) {
+            multipartUploader.upload(bucketName, key, input, metadata);
+        } else {
+            metadata.setContentLength(size);
+            s3Client.putObject(new PutObjectRequest(bucketName, key, input, metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead));
+        }
+        return urlFor(key);
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return s3Client.getUrl(bucketName, key).toString();
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        List<KeyVersion> versions = new ArrayList<>(keys.size());
+        keys.forEach(key -> versions.add(new KeyVersion(key)));
+
+        for (int from = 0; from < versions.size(); from += MAX_KEYS_PER_DELETE) {
+            List<KeyVersion> batch = versions.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, versions.size()));
+            // Quiet mode: a partial failure throws MultiObjectDeleteException, success returns nothing
+            s3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(batch).withQuiet(true));
+        }
+    }
+
+    @Override
+    public StoredMedia describe(String key) {
+        try {
+            ObjectMetadata metadata = s3Client.getObjectMetadata(bucketName, key);
+            return new StoredMedia(metadata.getContentLength(), metadata.getContentType());
+        } catch (AmazonServiceException ex) {
+            if (ex.getStatusCode() == 404) {
+                return null;
+            }
+            throw ex;
+        }
+    }
+
+    // Presigned PUT; Content-Type and the public-read ACL are part of the signature
+    @Override
+    public DirectUpload createDirectUpload(String key, String contentType, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(contentType);
+        request.putCustomRequestHeader(Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+
+        Map<String, String> headers = Map.of(
+                Headers.CONTENT_TYPE, contentType,
+                Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+        return new DirectUpload(s3Client.generatePresignedUrl(request).toString(), "PUT", headers);
+    }
+
+    // Chunks are the parts of a multipart upload (part number = index + 1), so S3 keeps them until
+    // complete or abort. Every chunk but the last must therefore be at least 5MB.
+    @Override
+    public String startChunkedUpload(String key, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        return s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+    }
+
+    @Override
+    public void storeChunk(String key, String stagingId, int index, long offset, InputStream data, long size) {
+        s3Client.uploadPart(new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(stagingId)
+                .withPartNumber(index + 1)
+                .withPartSize(size)
+                .withInputStream(data));
+    }
+
+    // The part ETags come from S3's own listing, so nothing per chunk has to be kept on our side
+    @Override
+    public String completeChunkedUpload(String key, String stagingId, int chunkCount) {
+        List<PartETag> etags = new ArrayList<>(chunkCount);
+        ListPartsRequest request = new ListPartsRequest(bucketName, key, stagingId);
+        PartListing listing;
+        do {
+            listing = s3Client.listParts(request);
+            for (PartSummary part : listing.getParts()) {
+                if (part.getPartNumber() <= chunkCount) {
+                    etags.add(new PartETag(part.getPartNumber(), part.getETag()));
+                }
+            }
+            request.setPartNumberMarker(listing.getNextPartNumberMarker());
+        } while (listing.isTruncated());
+
+        if (etags.size() != chunkCount) {
+            throw new IllegalStateException("Expected " + chunkCount + " parts for " + key + " but S3 has " + etags.size());
+        }
+        s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, stagingId, etags));
+        return urlFor(key);
+    }
+
+    @Override
+    public void abortChunkedUpload(String key, String stagingId) {
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, stagingId));
+        } catch (AmazonServiceException ex) {
+            // NoSuchUpload: already completed or aborted
+            if (ex.getStatusCode() != 404) {
+                throw ex;
+            }
+        }
+    }
+}
@@ -1,11 +1,36 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.dto.CourseCardDto;
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CourseProgressDto;
+import com.lms.backend.dto.LessonProgressItemDto;
+import com.lms.backend.dto.ProgressSyncItem;
+import com.lms.backend.dto.ProgressSyncResult;
+import com.lms.backend.dto.CursorPage;
+import com.lms.backend.dto.LearningStatsSummary;
+import com.lms.backend.dto.LearningStreakDto;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.exception.ConflictException;
+import com.lms.backend.model.ActivityEvent.ActivityType;
 import com.lms.backend.model.*;
 import com.lms.backend.repository.*;
+import com.lms.backend.service.AdminStatsSnapshot;
+import com.lms.backend.service.CourseCatalogCache;
+import com.lms.backend.service.LearningActivityService;
+import com.lms.backend.service.LessonHeartbeatBuffer;
 import com.lms.backend.service.StudentService;
+import com.lms.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -13,9 +38,25 @@ import java.util.stream.Collectors;
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Time only counts while the row is not yet completed, so a retried sync adds nothing
+    private static final String SYNC_UPDATE_PROGRESS =
+            "UPDATE lesson_progress SET completed = true, completed_at = COALESCE(completed_at, ?), " +
+            "time_spent = CASE WHEN completed THEN time_spent ELSE COALESCE(time_spent, 0) + ? END, " +
+            "last_accessed_at = GREATEST(COALESCE(last_accessed_at, ?), ?) " +
+            "WHERE student_id = ? AND lesson_id = ?";
+
+    private static final String SYNC_INSERT_PROGRESS =
+            "INSERT INTO lesson_progress (student_id, lesson_id, completed, completed_at, time_spent, last_accessed_at) " +
+            "VALUES (?, ?, true, ?, ?, ?)";
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
@@ -28,13 +69,55 @@ public class StudentServiceImpl implements StudentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+
+    @Autowired
+    private LearningActivityService learningActivityService;
+
+    @Autowired
+    private LessonHeartbeatBuffer lessonHeartbeatBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AdminStatsSnapshot adminStatsSnapshot;
+
+    @Value("${progress.sync.max-items:500}")
+    private int maxSyncItems;
+
+    // Per lesson and sync, like heartbeat.max-seconds for the live player
+    @Value("${progress.sync.max-minutes:240}")
+    private int maxSyncMinutes;
+
+    @Override
+    public List<CourseDto> getCourseCatalog() {
+        // All approved courses, served from the in-process catalog cache
+        return courseCatalogCache.getCatalog();
+    }
+
+    @Override
+    public List<CourseDto> getCourseCatalogByCategory(Long categoryId) {
+        return courseCatalogCache.getCatalogByCategory(categoryId);
+    }
+
     @Override
-    public List<Course> getCourseCatalog() {
-        // Return all approved courses
-        return courseRepository.findByApprovedTrue();
+    public CursorPage<CourseCardDto> getCatalogPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<CourseCardDto> rows = after == null
+                ? courseRepository.findCatalogCards(limit)
+                : courseRepository.findCatalogCardsAfter(after.sortKeyAsDateTime(), after.id(), limit);
+
+        return CursorPage.fromRows(rows, pageSize, card -> KeysetCursor.ofDateTime(card.getCreatedAt(), card.getId()));
     }
 
     @Override
+    @Transactional
     public void enrollCourse(User student, Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
@@ -53,24 +136,30 @@ public class StudentServiceImpl implements StudentService {
                 .course(course)
                 .enrolledAt(LocalDateTime.now())
                 .progress(0.0)
+                .completedLessons(0)
+                .totalLessons((int) lessonRepository.countByCourse(course))
                 .build();
 
         enrollmentRepository.save(enrollment);
+        courseRepository.adjustEnrollmentCount(courseId, 1);
+        adminStatsSnapshot.markStale();
+        eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.ENROLLED, student.getId(), courseId,
+                student.getUsername() + " enrolled in \"" + course.getTitle() + "\""));
 
-        System.out.println("Student " + student.getEmail() + " enrolled in course: " + course.getTitle());
+        System.out.println("Student " + student.getId() + " enrolled in course: " + course.getTitle());
     }
 
     @Override
     public List<Course> getEnrolledCourses(User student) {
         // Use findByStudent method for results
-        System.out.println("Getting enrolled courses for student: " + student.getEmail() + " (ID: " + student.getId() + ")");
+        System.out.println("Getting enrolled courses for student ID: " + student.getId());
 
         List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
         List<Course> courses = enrollments.stream()
                 .map(Enrollment::getCourse)
                 .collect(Collectors.toList());
 
-        System.out.println("📚 Found " + courses.size() + " enrolled courses for student: " + student.getEmail());
+        System.out.println("📚 Found " + courses.size() + " enrolled courses for student ID: " + student.getId());
 
         // Debug: Print course details
         for (Course course : courses) {
@@ -81,6 +170,7 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getCourseWithProgress(User student, Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -88,17 +178,21 @@ public class StudentServiceImpl implements StudentService {
         Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
                 .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
 
+        // Opening an enrolled course counts as lesson access for the streak
+        learningActivityService.recordActivity(student.getId());
+
         List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
         List<LessonProgress> lessonProgresses = lessonProgressRepository.findByStudentAndLesson_Course(student, course);
 
-        long completedLessons = lessonProgresses.stream()
-                .filter(LessonProgress::isCompleted)
-                .count();
-
-        double progress = lessons.isEmpty() ? 0 : (double) completedLessons / lessons.size() * 100;
+        // Pure read: progress and counters are maintained on lesson completion / lesson changes
+        int completedLessons = enrollment.getCompletedLessons() != null ? enrollment.getCompletedLessons() : 0;
+        double progress = enrollment.getProgress() != null ? enrollment.getProgress() : 0.0;
 
-        enrollment.setProgress(progress);
-        enrollmentRepository.save(enrollment);
+        // What CourseViewer.jsx reads to tick completed lessons
+        List<Long> completedLessonIds = lessonProgresses.stream()
+                .filter(LessonProgress::isCompleted)
+                .map(lp -> lp.getLesson().getId())
+                .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
         response.put("course", course);
@@ -108,75 +202,206 @@ public class StudentServiceImpl implements StudentService {
         response.put("totalLessons", lessons.size());
         response.put("progress", progress);
         response.put("lessonProgresses", lessonProgresses);
+        response.put("completedLessonIds", completedLessonIds);
 
         return response;
     }
 
     @Override
+    @Transactional
     public void markLessonCompleted(User student, Long courseId, Long lessonId) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RuntimeException("Lesson not found"));
+        // One select validates lesson, course and enrollment together
+        Long enrollmentId = enrollmentRepository.findEnrollmentIdForLesson(student.getId(), courseId, lessonId)
+                .orElseThrow(() -> completionError(student, courseId, lessonId));
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean newlyCompleted = lessonProgressRepository.markCompleted(student.getId(), lessonId, now) == 1;
+
+        if (!newlyCompleted && !lessonProgressRepository.existsForStudentAndLesson(student.getId(), lessonId)) {
+            // First time this lesson is touched
+            LessonProgress progress = LessonProgress.builder()
+                    .student(student)
+                    .lesson(lessonRepository.getReferenceById(lessonId))
+                    .completed(true)
+                    .completedAt(now)
+                    .lastAccessedAt(now)
+                    .build();
+            lessonProgressRepository.save(progress);
+            newlyCompleted = true;
+        }
 
-        if (!lesson.getCourse().getId().equals(courseId)) {
-            throw new RuntimeException("Lesson does not belong to the specified course");
+        // Repeated clicks on a completed lesson leave the counters untouched
+        if (newlyCompleted) {
+            enrollmentRepository.incrementCompletedLessons(enrollmentId);
+            // Ids only, so the hot path doesn't load the student, lesson or course
+            eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.LESSON_COMPLETED, student.getId(), courseId,
+                    "Student #" + student.getId() + " completed lesson #" + lessonId + " in course #" + courseId));
         }
 
-        Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, lesson.getCourse())
-                .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
+        learningActivityService.recordActivity(student.getId());
+    }
+
+    @Override
+    @Transactional
+    public ProgressSyncResult syncProgress(User student, List<ProgressSyncItem> items) {
+        if (items == null || items.isEmpty()) {
+            return new ProgressSyncResult(0, 0, List.of());
+        }
+        if (items.size() > maxSyncItems) {
+            throw new IllegalArgumentException("At most " + maxSyncItems + " items per sync");
+        }
+
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Collapse duplicates: earliest completion wins, time spent adds up to the cap
+        Map<Long, ProgressSyncItem> byLesson = new LinkedHashMap<>();
+        for (ProgressSyncItem item : items) {
+            if (item.getLessonId() == null || item.getCourseId() == null) {
+                rejected.add(syncRejection(item.getLessonId(), "courseId and lessonId are required"));
+                continue;
+            }
+            LocalDateTime completedAt = item.getCompletedAt() == null || item.getCompletedAt().isAfter(now)
+                    ? now : item.getCompletedAt();
+            int timeSpent = Math.max(0, Math.min(item.getTimeSpent() != null ? item.getTimeSpent() : 0, maxSyncMinutes));
+            byLesson.merge(item.getLessonId(),
+                    new ProgressSyncItem(item.getCourseId(), item.getLessonId(), completedAt, timeSpent),
+                    (a, b) -> new ProgressSyncItem(a.getCourseId(), a.getLessonId(),
+                            a.getCompletedAt().isBefore(b.getCompletedAt()) ? a.getCompletedAt() : b.getCompletedAt(),
+                            Math.min(Math.addExact(a.getTimeSpent(), b.getTimeSpent()), maxSyncMinutes)));
+        }
+        if (byLesson.isEmpty()) {
+            return new ProgressSyncResult(0, 0, rejected);
+        }
+
+        // Set-based ownership check: lesson exists, belongs to the claimed course, student is enrolled there
+        Map<Long, Long> enrolledLessonCourse = new HashMap<>();
+        for (Object[] row : lessonRepository.findEnrolledLessonCourses(student.getId(), byLesson.keySet())) {
+            enrolledLessonCourse.put((Long) row[0], (Long) row[1]);
+        }
 
-        LessonProgress progress = lessonProgressRepository
-                .findByStudentAndLesson(student, lesson)
-                .orElse(new LessonProgress());
+        List<ProgressSyncItem> valid = new ArrayList<>();
+        for (ProgressSyncItem item : byLesson.values()) {
+            Long courseId = enrolledLessonCourse.get(item.getLessonId());
+            if (courseId == null) {
+                rejected.add(syncRejection(item.getLessonId(), "Lesson not found or not enrolled in its course"));
+            } else if (!courseId.equals(item.getCourseId())) {
+                rejected.add(syncRejection(item.getLessonId(), "Lesson does not belong to the specified course"));
+            } else {
+                valid.add(item);
+            }
+        }
+        if (valid.isEmpty()) {
+            return new ProgressSyncResult(0, 0, rejected);
+        }
+
+        Map<Long, Boolean> existing = new HashMap<>();
+        for (Object[] row : lessonProgressRepository.findCompletionStates(student.getId(),
+                valid.stream().map(ProgressSyncItem::getLessonId).toList())) {
+            existing.put((Long) row[0], (Boolean) row[1]);
+        }
+
+        List<ProgressSyncItem> updates = valid.stream().filter(i -> existing.containsKey(i.getLessonId())).toList();
+        List<ProgressSyncItem> inserts = valid.stream().filter(i -> !existing.containsKey(i.getLessonId())).toList();
+        int newlyCompleted = inserts.size()
+                + (int) updates.stream().filter(i -> !existing.get(i.getLessonId())).count();
+
+        try {
+            jdbcTemplate.batchUpdate(SYNC_UPDATE_PROGRESS, updates, updates.size(), (ps, item) -> {
+                Timestamp completedAt = Timestamp.valueOf(item.getCompletedAt());
+                ps.setTimestamp(1, completedAt);
+                ps.setInt(2, item.getTimeSpent());
+                ps.setTimestamp(3, completedAt);
+                ps.setTimestamp(4, completedAt);
+                ps.setLong(5, student.getId());
+                ps.setLong(6, item.getLessonId());
+            });
+            jdbcTemplate.batchUpdate(SYNC_INSERT_PROGRESS, inserts, inserts.size(), (ps, item) -> {
+                Timestamp completedAt = Timestamp.valueOf(item.getCompletedAt());
+                ps.setLong(1, student.getId());
+                ps.setLong(2, item.getLessonId());
+                ps.setTimestamp(3, completedAt);
+                ps.setInt(4, item.getTimeSpent());
+                ps.setTimestamp(5, completedAt);
+            });
+        } catch (DuplicateKeyException e) {
+            // Another request created one of the rows in between, nothing was written
+            throw new ConflictException("Progress changed while syncing, please retry");
+        }
+
+        // Recompute each affected enrollment once
+        Set<Long> courseIds = valid.stream().map(ProgressSyncItem::getCourseId).collect(Collectors.toSet());
+        enrollmentRepository.recountLessonCountersForStudent(student.getId(), courseIds);
+        enrollmentRepository.refreshProgressForStudent(student.getId(), courseIds);
+
+        learningActivityService.recordActivityDays(student.getId(), valid.stream()
+                .map(item -> item.getCompletedAt().toLocalDate())
+                .collect(Collectors.toSet()));
+
+        if (newlyCompleted > 0) {
+            // One feed entry per sync rather than one per lesson
+            eventPublisher.publishEvent(new ActivityOccurredEvent(ActivityType.LESSON_COMPLETED, student.getId(), null,
+                    "Student #" + student.getId() + " completed " + newlyCompleted + " lessons offline"));
+        }
+
+        System.out.println("Synced " + valid.size() + " lesson completions for student ID " + student.getId());
+        return new ProgressSyncResult(valid.size(), newlyCompleted, rejected);
+    }
 
-        progress.setStudent(student);
-        progress.setLesson(lesson);
-        progress.setCompleted(true);
-        progress.setCompletedAt(LocalDateTime.now());
-        progress.setLastAccessedAt(LocalDateTime.now());
+    private static Map<String, Object> syncRejection(Long lessonId, String reason) {
+        Map<String, Object> rejection = new HashMap<>();
+        rejection.put("lessonId", lessonId);
+        rejection.put("reason", reason);
+        return rejection;
+    }
 
-        lessonProgressRepository.save(progress);
-        updateCourseProgress(student, lesson.getCourse());
+    @Override
+    public boolean recordLessonHeartbeat(User student, Long courseId, Long lessonId, int seconds) {
+        // No DB access here: enrollment / ownership are enforced by the join when the buffer is flushed
+        boolean accepted = lessonHeartbeatBuffer.offer(student.getId(), courseId, lessonId, seconds);
+        if (accepted) {
+            learningActivityService.recordActivity(student.getId());
+        }
+        return accepted;
+    }
+
+    // Slow path, only to report which check failed
+    private RuntimeException completionError(User student, Long courseId, Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId).orElse(null);
+        if (lesson == null) {
+            return new RuntimeException("Lesson not found");
+        }
+        if (!lesson.getCourse().getId().equals(courseId)) {
+            return new RuntimeException("Lesson does not belong to the specified course");
+        }
+        return new RuntimeException("You are not enrolled in this course");
     }
 
     @Override
     public Map<String, Object> getLearningStats(User student) {
-        System.out.println("Getting learning stats for student: " + student.getEmail() + " (ID: " + student.getId() + ")");
+        System.out.println("Getting learning stats for student ID: " + student.getId());
 
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
+        // Single aggregate query instead of one progress lookup per enrollment
+        LearningStatsSummary summary = enrollmentRepository.summarizeLearningStats(student.getId());
 
-        System.out.println(" Found " + enrollments.size() + " enrollments for stats calculation");
-
-        long totalCourses = enrollments.size();
-        long completedCourses = enrollments.stream()
-                .filter(e -> e.getProgress() >= 100)
-                .count();
-        long inProgressCourses = enrollments.stream()
-                .filter(e -> e.getProgress() > 0 && e.getProgress() < 100)
-                .count();
-
-        // Calculate total completed lessons
-        long totalCompletedLessons = 0;
-        for (Enrollment enrollment : enrollments) {
-            List<LessonProgress> progressList = lessonProgressRepository
-                    .findByStudentAndLesson_Course(student, enrollment.getCourse());
-            totalCompletedLessons += progressList.stream()
-                    .filter(LessonProgress::isCompleted)
-                    .count();
-        }
+        long totalCourses = summary.getTotalCourses();
+        long completedCourses = summary.getCompletedCourses();
+        long inProgressCourses = summary.getInProgressCourses();
+        long totalCompletedLessons = summary.getCompletedLessons();
 
         int totalLearningHours = (int) (totalCompletedLessons * 0.5); // Estimate 30 mins per lesson
-        int learningStreak = calculateLearningStreak(student);
+        LearningStreakDto streak = learningActivityService.getStreak(student.getId());
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalCourses", totalCourses);
         stats.put("completedCourses", completedCourses);
         stats.put("inProgressCourses", inProgressCourses);
         stats.put("totalLearningHours", totalLearningHours);
-        stats.put("learningStreak", learningStreak);
+        stats.put("learningStreak", streak.getCurrentStreak());
+        stats.put("longestStreak", streak.getLongestStreak());
         stats.put("totalEnrollments", totalCourses);
         stats.put("completedLessons", totalCompletedLessons);
-        stats.put("progressPercentage", totalCourses > 0 ?
-                enrollments.stream().mapToDouble(Enrollment::getProgress).average().orElse(0.0) : 0.0);
+        stats.put("progressPercentage", summary.getAverageProgress());
         stats.put("certificates", completedCourses);
 
         System.out.println("Stats calculated - Total courses: " + totalCourses + ", Completed: " + completedCourses);
@@ -185,74 +410,42 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public Map<String, Object> getCourseProgress(User student, Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
-                .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
-
-        List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
-        List<LessonProgress> lessonProgresses = lessonProgressRepository.findByStudentAndLesson_Course(student, course);
-
-        Map<String, Object> progress = new HashMap<>();
-        progress.put("course", course);
-        progress.put("enrollment", enrollment);
-        progress.put("totalLessons", lessons.size());
-        progress.put("completedLessons", lessonProgresses.stream().filter(LessonProgress::isCompleted).count());
-        progress.put("progressPercentage", enrollment.getProgress());
-        progress.put("lessons", lessons.stream().map(lesson -> {
-            Map<String, Object> lessonMap = new HashMap<>();
-            lessonMap.put("id", lesson.getId());
-            lessonMap.put("title", lesson.getTitle());
-            lessonMap.put("duration", lesson.getDurationSeconds());
-            lessonMap.put("position", lesson.getPosition());
-
-            boolean isCompleted = lessonProgresses.stream()
-                    .anyMatch(lp -> lp.getLesson().getId().equals(lesson.getId()) && lp.isCompleted());
-            lessonMap.put("isCompleted", isCompleted);
-
-            return lessonMap;
-        }).collect(Collectors.toList()));
-
+    @Transactional(readOnly = true)
+    public CourseProgressDto getCourseProgress(User student, Long courseId) {
+        CourseProgressDto progress = enrollmentRepository.findProgressHeader(student.getId(), courseId)
+                .orElseThrow(() -> courseRepository.existsById(courseId)
+                        ? new RuntimeException("You are not enrolled in this course")
+                        : new RuntimeException("Course not found"));
+
+        // Two projection queries in total, completion per lesson is already joined in
+        List<LessonProgressItemDto> lessons = lessonRepository.findProgressItems(courseId, student.getId());
+
+        progress.setLessons(lessons);
+        progress.setTotalLessons(lessons.size());
+        progress.setCompletedLessons(lessons.stream().filter(LessonProgressItemDto::isCompleted).count());
         return progress;
     }
 
     @Override
     public List<Course> getAvailableCourses(User student) {
-        List<Course> allApprovedCourses = courseRepository.findByApprovedTrue();
-        List<Course> enrolledCourses = getEnrolledCourses(student);
-
-        List<Course> availableCourses = allApprovedCourses.stream()
-                .filter(course -> enrolledCourses.stream()
-                        .noneMatch(enrolled -> enrolled.getId().equals(course.getId())))
-                .collect(Collectors.toList());
+        // Anti-join in SQL instead of filtering all approved courses against all enrollments
+        List<Course> availableCourses = courseRepository.findAvailableForStudent(student.getId());
 
-        System.out.println(" Available courses for " + student.getEmail() + ": " + availableCourses.size());
+        System.out.println(" Available courses for student ID " + student.getId() + ": " + availableCourses.size());
 
         return availableCourses;
     }
 
-    private void updateCourseProgress(User student, Course course) {
-        List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
-        List<LessonProgress> progressList = lessonProgressRepository.findByStudentAndLesson_Course(student, course);
-
-        long completedLessons = progressList.stream()
-                .filter(LessonProgress::isCompleted)
-                .count();
-
-        double progress = lessons.isEmpty() ? 0 : (double) completedLessons / lessons.size() * 100;
-
-        Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
-                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
-
-        enrollment.setProgress(progress);
-        enrollmentRepository.save(enrollment);
+    @Override
+    public CursorPage<CourseCardDto> getAvailableCoursesPage(User student, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        System.out.println("Updated progress for " + student.getEmail() + " in " + course.getTitle() + ": " + progress + "%");
-    }
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<CourseCardDto> rows = after == null
+                ? courseRepository.findAvailableCards(student.getId(), limit)
+                : courseRepository.findAvailableCardsAfter(student.getId(), after.sortKeyAsDateTime(), after.id(), limit);
 
-    private int calculateLearningStreak(User student) {
-        return new Random().nextInt(7) + 1;
+        return CursorPage.fromRows(rows, pageSize, card -> KeysetCursor.ofDateTime(card.getCreatedAt(), card.getId()));
     }
 }
\ No newline at end of file
@@ -18,7 +18,6 @@ public class CourseMapper {
         course.setInstructor(instructor);
         course.setLevel(dto.getLevel());
         course.setRating(dto.getRating());
-        course.setTotalStudents(dto.getTotalStudents());
         course.setDuration(dto.getDuration());
         course.setPrice(dto.getPrice());
 
@@ -32,7 +31,7 @@ public class CourseMapper {
         dto.setDescription(course.getDescription());
         dto.setCoverImageUrl(course.getCoverImageUrl());
         dto.setApproved(course.isApproved());
-        dto.setEnrollmentCount(course.getEnrollments() != null ? course.getEnrollments().size() : 0);
+        dto.setEnrollmentCount(course.getEnrollmentCount());
 
         // Instructor info
         if (course.getInstructor() != null) {
@@ -47,7 +46,7 @@ public class CourseMapper {
         }
         dto.setLevel(course.getLevel());
         dto.setRating(course.getRating());
-        dto.setTotalStudents(course.getTotalStudents());
+        dto.setTotalStudents(course.getEnrollmentCount());
         dto.setDuration(course.getDuration());
         dto.setPrice(course.getPrice());
 
@@ -0,0 +1,61 @@
+package com.lms.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination: the sort key of the last row returned plus its id.
+ * Encoded as URL-safe base64 of "sortKey|id".
+ */
+public record KeysetCursor(String sortKey, Long id) {
+
+    public static KeysetCursor of(Object sortKey, Long id) {
+        return new KeysetCursor(sortKey != null ? sortKey.toString() : "", id);
+    }
+
+    // For lists ordered by a timestamp; an empty sort key could never be decoded again
+    public static KeysetCursor ofDateTime(LocalDateTime sortKey, Long id) {
+        if (sortKey == null) {
+            throw new IllegalStateException("Row " + id + " has no timestamp to page by");
+        }
+        return new KeysetCursor(sortKey.toString(), id);
+    }
+
+    // Returns null for a missing cursor (first page)
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A tampered or truncated sort key is a bad request like any other invalid cursor
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public Double sortKeyAsDouble() {
+        try {
+            return Double.valueOf(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT verification cost, as done by JwtAuthenticationFilter.
+ * legacyThreeParses = old filter (validateToken + getUsernameFromJWT + getUserIdFromJWT, new parser each time)
+ * singleParse       = verifyToken with the verification cache disabled
+ * cachedVerify      = verifyToken for a token that was already verified
+ *
+ * Run: mvn test-compile, then main() from the IDE or org.openjdk.jmh.Main on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private Key legacyKey;
+    private String legacyToken;
+
+    private JwtTokenProvider uncachedProvider;
+    private String uncachedToken;
+
+    private JwtTokenProvider cachedProvider;
+    private String cachedToken;
+
+    @Setup
+    public void setUp() {
+        legacyKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+        legacyToken = Jwts.builder()
+                .setSubject("student@lms.com")
+                .claim("role", "ROLE_STUDENT")
+                .claim("roles", List.of("ROLE_STUDENT"))
+                .claim("uid", 42L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(legacyKey, SignatureAlgorithm.HS512)
+                .compact();
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                "student@lms.com", null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+
+        uncachedProvider = new JwtTokenProvider(0);
+        uncachedToken = uncachedProvider.generateToken(authentication, 42L);
+
+        cachedProvider = new JwtTokenProvider(10000);
+        cachedToken = cachedProvider.generateToken(authentication, 42L);
+        cachedProvider.verifyToken(cachedToken);
+    }
+
+    @Benchmark
+    public Object legacyThreeParses() {
+        Jwts.parserBuilder().setSigningKey(legacyKey).build().parseClaimsJws(legacyToken);
+        String username = Jwts.parserBuilder().setSigningKey(legacyKey).build()
+                .parseClaimsJws(legacyToken).getBody().getSubject();
+        Claims claims = Jwts.parserBuilder().setSigningKey(legacyKey).build()
+                .parseClaimsJws(legacyToken).getBody();
+        return username + claims.get("uid");
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        Claims claims = uncachedProvider.verifyToken(uncachedToken);
+        return claims.getSubject() + uncachedProvider.getUserId(claims);
+    }
+
+    @Benchmark
+    public Object cachedVerify() {
+        Claims claims = cachedProvider.verifyToken(cachedToken);
+        return claims.getSubject() + cachedProvider.getUserId(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
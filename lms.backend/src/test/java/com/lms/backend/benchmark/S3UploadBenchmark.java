@@ -0,0 +1,72 @@
+package com.lms.backend.benchmark;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.lms.backend.service.InMemoryS3;
+import com.lms.backend.service.S3MultipartUploader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to store a 64MB lesson video in an in-process S3 that caps every connection at 64MB/s,
+ * which is what makes a single stream slow against real S3.
+ * singlePut  = old MediaStorageService path (one putObject)
+ * multipart  = S3MultipartUploader with 8MB parts and the given number of parts in flight
+ *
+ * Run: mvn test-compile, then main() from the IDE or org.openjdk.jmh.Main on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class S3UploadBenchmark {
+
+    private static final int VIDEO_BYTES = 64 * 1024 * 1024;
+    private static final long BYTES_PER_SECOND_PER_CONNECTION = 64L * 1024 * 1024;
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private byte[] video;
+    private InMemoryS3 s3;
+    private S3MultipartUploader uploader;
+
+    @Setup
+    public void setUp() {
+        video = new byte[VIDEO_BYTES];
+        s3 = new InMemoryS3(BYTES_PER_SECOND_PER_CONNECTION);
+        uploader = new S3MultipartUploader(s3, DataSize.ofMegabytes(8), parallelism, 16, 3, 200);
+    }
+
+    @TearDown
+    public void tearDown() {
+        uploader.shutdown();
+    }
+
+    @Benchmark
+    public Object singlePut() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(video.length);
+        return s3.putObject(new PutObjectRequest("bucket", "course_1/video.mp4", new ByteArrayInputStream(video), metadata));
+    }
+
+    @Benchmark
+    public Object multipart() {
+        uploader.upload("bucket", "course_1/video.mp4", new ByteArrayInputStream(video), new ObjectMetadata());
+        return s3.objects.get("course_1/video.mp4");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(S3UploadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
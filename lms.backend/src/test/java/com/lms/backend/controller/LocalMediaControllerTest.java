@@ -0,0 +1,156 @@
+package com.lms.backend.controller;
+
+import com.lms.backend.service.impl.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalMediaControllerTest {
+
+    private static final byte[] VIDEO = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final String URI = "/api/media/files/course_1/abc_intro.mp4";
+
+    @TempDir
+    Path rootDir;
+
+    @TempDir
+    Path stagingDir;
+
+    private LocalMediaStore store;
+
+    private LocalMediaController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new LocalMediaStore(rootDir.toString(), "http://localhost:8080", stagingDir.toString());
+        store.store("course_1/abc_intro.mp4", new ByteArrayInputStream(VIDEO), VIDEO.length, "video/mp4");
+
+        controller = new LocalMediaController();
+        ReflectionTestUtils.setField(controller, "localMediaStore", store);
+    }
+
+    @Test
+    void testServeFile_FullBodyWithValidators() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", URI));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("video/mp4", response.getContentType());
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        assertNull(response.getHeader("Content-Disposition"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+        assertArrayEquals(VIDEO, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testServeFile_ByteRanges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+
+        request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("Range", "bytes=-3");
+        response = serve(request);
+        assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+        assertEquals("789", response.getContentAsString());
+
+        request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("Range", "bytes=20-");
+        response = serve(request);
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testServeFile_IfNoneMatchAndStaleIfRange() throws Exception {
+        String etag = serve(new MockHttpServletRequest("GET", URI)).getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = serve(request);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        // Range is ignored when If-Range names an older version
+        request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"stale\"");
+        response = serve(request);
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(VIDEO, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testServeFile_SendfileWhenConnectorSupportsIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(4L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testServeFile_PathTraversalIsNotFound() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/api/media/files/../secret.txt"));
+        assertEquals(404, response.getStatus());
+
+        response = serve(new MockHttpServletRequest("GET", "/api/media/files/course_1/missing.mp4"));
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    void testServeFile_StoredTypeWinsOverExtension() throws Exception {
+        store.store("course_1/abc_page.html", new ByteArrayInputStream(VIDEO), VIDEO.length, "video/mp4");
+
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/api/media/files/course_1/abc_page.html"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("video/mp4", response.getContentType());
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        assertNull(response.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    void testServeFile_ActiveContentIsAnAttachment() throws Exception {
+        // Stored before content types were recorded: the extension is all there is
+        Path legacy = rootDir.resolve("course_1/abc_logo.svg");
+        Files.writeString(legacy, "<svg onload=\"alert(1)\"/>");
+
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/api/media/files/course_1/abc_logo.svg"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/svg+xml", response.getContentType());
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        assertTrue(response.getHeader("Content-Disposition").startsWith("attachment"));
+    }
+
+    @Test
+    void testServeFile_SidecarsAreNotServed() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/api/media/files/.meta/course_1/abc_intro.mp4.type"));
+        assertEquals(404, response.getStatus());
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serveFile(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,154 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.dto.CourseRosterRow;
+import com.lms.backend.dto.LearningStatsSummary;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Enrollment;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.LessonProgress;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.Role.RoleName;
+import com.lms.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EnrollmentRepositoryTest {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        Role role = Role.builder().name(RoleName.ROLE_STUDENT).build();
+        entityManager.persist(role);
+
+        student = User.builder().username("Student").email("student@lms.com").password("x").role(role).build();
+        entityManager.persist(student);
+
+        // 50 enrollments: 10 completed, 20 in progress, 20 not started
+        for (int i = 0; i < 50; i++) {
+            Course course = Course.builder().title("Course " + i).approved(true).build();
+            entityManager.persist(course);
+
+            double progress = i < 10 ? 100.0 : i < 30 ? 50.0 : 0.0;
+            entityManager.persist(Enrollment.builder()
+                    .student(student)
+                    .course(course)
+                    .enrolledAt(LocalDateTime.now())
+                    .progress(progress)
+                    .completedLessons(i < 10 ? 4 : i < 30 ? 2 : 0)
+                    .totalLessons(4)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSummarizeLearningStats_SingleQueryFor50Enrollments() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LearningStatsSummary summary = enrollmentRepository.summarizeLearningStats(student.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(50L, summary.getTotalCourses());
+        assertEquals(10L, summary.getCompletedCourses());
+        assertEquals(20L, summary.getInProgressCourses());
+        assertEquals(80L, summary.getCompletedLessons());
+        assertEquals(40.0, summary.getAverageProgress(), 0.001);
+    }
+
+    @Test
+    void testSummarizeLearningStats_NoEnrollments() {
+        LearningStatsSummary summary = enrollmentRepository.summarizeLearningStats(-1L);
+
+        assertEquals(0L, summary.getTotalCourses());
+        assertEquals(0L, summary.getCompletedCourses());
+        assertEquals(0L, summary.getCompletedLessons());
+        assertEquals(0.0, summary.getAverageProgress(), 0.001);
+    }
+
+    @Test
+    void testFindRosterByProgressDesc_KeysetPagesWithinBand() {
+        Course course = persistRosterCourse(new double[]{0.0, 25.0, 50.0, 50.0, 100.0});
+
+        // In progress only, highest first, two per page; the tie at 50 is broken by enrollment id
+        List<CourseRosterRow> first = enrollmentRepository.findRosterByProgressDesc(course.getId(),
+                0.000001, 100.0, Double.MAX_VALUE, Long.MAX_VALUE, PageRequest.of(0, 2));
+        CourseRosterRow last = first.get(1);
+        List<CourseRosterRow> second = enrollmentRepository.findRosterByProgressDesc(course.getId(),
+                0.000001, 100.0, last.getProgress(), last.getEnrollmentId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(50.0, 50.0), first.stream().map(CourseRosterRow::getProgress).toList());
+        assertTrue(first.get(0).getEnrollmentId() > first.get(1).getEnrollmentId());
+        assertEquals(List.of("roster1@lms.com"), second.stream().map(CourseRosterRow::getEmail).toList());
+    }
+
+    @Test
+    void testFindRosterByRecent_SingleQueryWithLastActivity() {
+        Course course = persistRosterCourse(new double[]{0.0, 100.0});
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CourseRosterRow> rows = enrollmentRepository.findRosterByRecent(course.getId(),
+                0.0, Double.MAX_VALUE, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("roster1@lms.com", "roster0@lms.com"), rows.stream().map(CourseRosterRow::getEmail).toList());
+        assertNotNull(rows.get(0).getLastActivityAt());
+        assertNull(rows.get(1).getLastActivityAt());
+    }
+
+    // One enrollment per progress value; students with progress also get a lesson progress row
+    private Course persistRosterCourse(double[] progress) {
+        Role role = entityManager.find(Role.class, student.getRole().getId());
+        Course course = Course.builder().title("Roster").approved(true).build();
+        entityManager.persist(course);
+        Lesson lesson = Lesson.builder().title("Lesson").course(course).build();
+        entityManager.persist(lesson);
+
+        for (int i = 0; i < progress.length; i++) {
+            User rosterStudent = User.builder().username("Roster " + i).email("roster" + i + "@lms.com")
+                    .password("x").role(role).build();
+            entityManager.persist(rosterStudent);
+            entityManager.persist(Enrollment.builder()
+                    .student(rosterStudent)
+                    .course(course)
+                    .enrolledAt(LocalDateTime.now())
+                    .progress(progress[i])
+                    .build());
+            if (progress[i] > 0) {
+                entityManager.persist(LessonProgress.builder().student(rosterStudent).lesson(lesson)
+                        .lastAccessedAt(LocalDateTime.now()).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return course;
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.dto.AdminUserRow;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.Role.RoleName;
+import com.lms.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Role student = Role.builder().name(RoleName.ROLE_STUDENT).build();
+        Role instructor = Role.builder().name(RoleName.ROLE_INSTRUCTOR).build();
+        entityManager.persist(student);
+        entityManager.persist(instructor);
+
+        persistUser("amit_k@lms.com", student);
+        persistUser("amitk@lms.com", student);
+        persistUser("anita@lms.com", instructor);
+        persistUser("bela@lms.com", student);
+        entityManager.flush();
+    }
+
+    @Test
+    void testFindAdminUserRows_KeysetPages() {
+        List<AdminUserRow> first = userRepository.findAdminUserRows(0L, null, null, PageRequest.of(0, 2));
+        List<AdminUserRow> second = userRepository.findAdminUserRows(first.get(1).getId(), null, null, PageRequest.of(0, 2));
+
+        assertEquals(List.of("amit_k@lms.com", "amitk@lms.com"), first.stream().map(AdminUserRow::getEmail).toList());
+        assertEquals(List.of("anita@lms.com", "bela@lms.com"), second.stream().map(AdminUserRow::getEmail).toList());
+        assertEquals(RoleName.ROLE_INSTRUCTOR, second.get(0).getRole());
+    }
+
+    @Test
+    void testFindAdminUserRows_FiltersByRoleAndEscapedPrefix() {
+        // '_' is escaped, so it must not match the 'k' in amitk
+        List<AdminUserRow> rows = userRepository.findAdminUserRows(0L, RoleName.ROLE_STUDENT, "amit\\_%", PageRequest.of(0, 10));
+        assertEquals(List.of("amit_k@lms.com"), rows.stream().map(AdminUserRow::getEmail).toList());
+
+        rows = userRepository.findAdminUserRows(0L, RoleName.ROLE_STUDENT, "a%", PageRequest.of(0, 10));
+        assertEquals(2, rows.size());
+    }
+
+    private void persistUser(String email, Role role) {
+        entityManager.persist(User.builder().username(email).email(email).password("x").role(role).build());
+    }
+}
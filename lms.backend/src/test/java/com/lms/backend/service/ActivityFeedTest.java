@@ -0,0 +1,68 @@
+package com.lms.backend.service;
+
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.model.ActivityEvent;
+import com.lms.backend.model.ActivityEvent.ActivityType;
+import com.lms.backend.repository.ActivityEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityFeedTest {
+
+    @Mock
+    private ActivityEventRepository activityEventRepository;
+
+    @InjectMocks
+    private ActivityFeed activityFeed;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(activityFeed, "capacity", 3);
+        activityFeed.init();
+    }
+
+    @Test
+    void testOnActivity_PersistsAndKeepsNewestFirst() {
+        AtomicLong ids = new AtomicLong();
+        when(activityEventRepository.save(any(ActivityEvent.class))).thenAnswer(invocation -> {
+            ActivityEvent event = invocation.getArgument(0);
+            event.setId(ids.incrementAndGet());
+            return event;
+        });
+
+        for (int i = 0; i < 5; i++) {
+            activityFeed.onActivity(new ActivityOccurredEvent(ActivityType.ENROLLED, 1L, 10L, "event " + i));
+        }
+
+        // Only the last 3 survive the wrap-around
+        List<ActivityEvent> recent = activityFeed.recent(10);
+        assertEquals(List.of(5L, 4L, 3L), recent.stream().map(ActivityEvent::getId).toList());
+        assertEquals(2, activityFeed.recent(2).size());
+        verify(activityEventRepository, times(5)).save(any(ActivityEvent.class));
+    }
+
+    @Test
+    void testHydrate_LoadsLatestRowsInOrder() {
+        when(activityEventRepository.findByOrderByIdDesc(any(Pageable.class))).thenReturn(List.of(
+                ActivityEvent.builder().id(9L).type(ActivityType.COURSE_APPROVED).message("b").build(),
+                ActivityEvent.builder().id(8L).type(ActivityType.COURSE_CREATED).message("a").build()));
+
+        activityFeed.hydrate();
+
+        assertEquals(List.of(9L, 8L), activityFeed.recent(10).stream().map(ActivityEvent::getId).toList());
+    }
+}
@@ -0,0 +1,107 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.BulkModerationResult;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.event.CourseCatalogChangedEvent;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.DeletionJob;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.service.impl.AdminServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceImplTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private DeletionJobService deletionJobService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AdminServiceImpl adminService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(adminService, "maxModerationBatch", 3);
+    }
+
+    @Test
+    void testApproveCourses_OneUpdateAndPerIdOutcomes() {
+        // 1 pending, 2 already approved, 3 missing
+        when(courseRepository.findModerationStates(anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, false, "Java", 5L}, new Object[]{2L, true, "Go", 5L}));
+        when(courseRepository.approvePending(List.of(1L))).thenReturn(1);
+
+        BulkModerationResult result = adminService.approveCourses(List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(3, result.getRequested());
+        assertEquals(1, result.getApplied());
+        assertEquals(Map.of(1L, "APPROVED", 2L, "ALREADY_APPROVED", 3L, "NOT_FOUND"), result.getOutcomes());
+        verify(courseRepository, times(1)).approvePending(List.of(1L));
+        verify(eventPublisher, times(1)).publishEvent(new CourseCatalogChangedEvent(Set.of(5L)));
+        verify(eventPublisher, times(1)).publishEvent(any(ActivityOccurredEvent.class));
+    }
+
+    @Test
+    void testRejectCourses_SchedulesOnlyPendingCourses() {
+        when(courseRepository.findModerationStates(anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, false, "Java", null}, new Object[]{2L, true, "Go", null}));
+        when(deletionJobService.scheduleCourseDeletions(List.of(1L))).thenReturn(List.of(new DeletionJob()));
+
+        BulkModerationResult result = adminService.rejectCourses(List.of(1L, 2L));
+
+        assertEquals(1, result.getApplied());
+        assertEquals(Map.of(1L, "REJECTED", 2L, "ALREADY_APPROVED"), result.getOutcomes());
+        verify(deletionJobService, times(1)).scheduleCourseDeletions(List.of(1L));
+    }
+
+    @Test
+    void testRejectCourses_NothingPendingWritesNothing() {
+        when(courseRepository.findModerationStates(anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[]{2L, true, "Go", null}));
+
+        BulkModerationResult result = adminService.rejectCourses(List.of(2L, 3L));
+
+        assertEquals(0, result.getApplied());
+        verifyNoInteractions(deletionJobService, eventPublisher);
+    }
+
+    @Test
+    void testApproveCourses_RejectsOversizedBatch() {
+        assertThrows(IllegalArgumentException.class, () -> adminService.approveCourses(List.of(1L, 2L, 3L, 4L)));
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void testApproveCourse_PendingDeleteIsNotFound() {
+        Course course = new Course();
+        course.setId(1L);
+        course.setPendingDelete(true);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        assertThrows(RuntimeException.class, () -> adminService.approveCourse(1L));
+        verify(courseRepository, never()).save(any(Course.class));
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -6,14 +6,20 @@ import com.lms.backend.model.Role.RoleName;
 import com.lms.backend.dto.SignupRequest;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.repository.RoleRepository;
+import com.lms.backend.security.JwtUserPrincipal;
 import com.lms.backend.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -92,4 +98,47 @@ class AuthServiceImplTest {
 
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetCurrentUser_JwtPrincipalSkipsLookup() {
+        // Setup
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "student@example.com", "ROLE_STUDENT");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))));
+
+        User reference = new User();
+        reference.setId(7L);
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        // Execute
+        User result = authService.getCurrentUser();
+
+        // Verify
+        assertEquals(7L, result.getId());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void testGetCurrentUser_EmailPrincipalLoadsUser() {
+        // Setup
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "student@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))));
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("student@example.com");
+        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+
+        // Execute
+        User result = authService.getCurrentUser();
+
+        // Verify
+        assertEquals("student@example.com", result.getEmail());
+        verify(userRepository, never()).getReferenceById(any());
+    }
+}
@@ -0,0 +1,50 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.model.Course;
+import com.lms.backend.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseCatalogCacheTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private CourseCatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(catalogCache, "maxEntries", 16);
+        ReflectionTestUtils.setField(catalogCache, "ttlSeconds", 600L);
+        catalogCache.init();
+    }
+
+    @Test
+    void testGetCatalog_CallersCannotChangeCachedEntries() {
+        Course course = new Course();
+        course.setId(1L);
+        course.setTitle("Java Programming");
+        when(courseRepository.findByApprovedTrue()).thenReturn(List.of(course));
+
+        // Mutate both the loading call's result and a cache hit
+        catalogCache.getCatalog().get(0).setTitle("changed on load");
+        catalogCache.getCatalog().get(0).setTitle("changed on hit");
+
+        CourseDto fresh = catalogCache.getCatalog().get(0);
+        assertEquals("Java Programming", fresh.getTitle());
+        verify(courseRepository, times(1)).findByApprovedTrue();
+    }
+}
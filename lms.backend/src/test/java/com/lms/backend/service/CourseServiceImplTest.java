@@ -1,5 +1,6 @@
 package com.lms.backend.service;
 
+import com.lms.backend.event.CourseCatalogChangedEvent;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
 import com.lms.backend.model.Role;
@@ -11,12 +12,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +28,12 @@ class CourseServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DeletionJobService deletionJobService;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -131,12 +140,17 @@ class CourseServiceImplTest {
 
     @Test
     void testDeleteCourse_Success() {
-        // Setup - No return value for delete
+        // Setup
+        Course course = new Course();
+        course.setId(1L);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
 
         // Execute
         courseService.deleteCourse(1L);
 
-        // Verify
-        verify(courseRepository).deleteById(1L);
+        // Verify - removal itself is left to the deletion job
+        verify(deletionJobService).scheduleCourseDeletion(1L);
+        verify(courseRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(any(CourseCatalogChangedEvent.class));
     }
 }
\ No newline at end of file
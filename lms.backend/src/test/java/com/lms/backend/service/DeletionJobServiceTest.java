@@ -0,0 +1,248 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.model.DeletionJob;
+import com.lms.backend.model.DeletionJob.Status;
+import com.lms.backend.model.Enrollment;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.LessonProgress;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.Role.RoleName;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.DeletionJobRepository;
+import com.lms.backend.security.UserStatusCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Real commits per chunk (no test transaction), so rollbacks behave like in production
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "deletion.chunk-size=1",
+        "deletion.max-chunks-per-run=100",
+        "deletion.max-attempts=3",
+        "deletion.poll-interval-ms=3600000"
+})
+@Import(DeletionJobService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeletionJobServiceTest {
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private MediaStorageService mediaStorageService;
+
+    @MockitoBean
+    private UserStatusCache userStatusCache;
+
+    @MockitoBean
+    private AdminStatsSnapshot adminStatsSnapshot;
+
+    private Long instructorId;
+    private Long studentId;
+    private Long otherStudentId;
+    private Long deletedCourseId;
+    private Long keptCourseId;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = Role.builder().name(RoleName.ROLE_STUDENT).build();
+            entityManager.persist(role);
+
+            User instructor = persistUser("Instructor", role);
+            User student = persistUser("Student", role);
+            User otherStudent = persistUser("Other", role);
+
+            // Instructor's course with media, and a second course that must survive
+            Course deleted = persistCourse("Deleted", instructor);
+            Course kept = persistCourse("Kept", instructor);
+            Lesson deletedLesson1 = persistLesson(deleted, "https://media/lesson-1.mp4");
+            Lesson deletedLesson2 = persistLesson(deleted, null);
+            Lesson keptLesson = persistLesson(kept, null);
+
+            // Student in both courses, the other student only in the kept one
+            persistEnrollment(student, deleted);
+            persistEnrollment(student, kept);
+            persistEnrollment(otherStudent, kept);
+            persistProgress(student, deletedLesson1);
+            persistProgress(student, deletedLesson2);
+            persistProgress(student, keptLesson);
+            persistProgress(otherStudent, keptLesson);
+
+            instructorId = instructor.getId();
+            studentId = student.getId();
+            otherStudentId = otherStudent.getId();
+            deletedCourseId = deleted.getId();
+            keptCourseId = kept.getId();
+        });
+        // The counter column is not updatable through JPA
+        jdbcTemplate.update("UPDATE courses SET enrollment_count = 1 WHERE id = ?", deletedCourseId);
+        jdbcTemplate.update("UPDATE courses SET enrollment_count = 2 WHERE id = ?", keptCourseId);
+        when(mediaStorageService.deleteFiles(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("deletion_jobs", "lesson_progress", "enrollments", "lessons", "courses", "users", "roles")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void testCourseJob_RemovesEverythingOfTheCourseOnly() {
+        DeletionJob job = deletionJobService.scheduleCourseDeletion(deletedCourseId);
+        assertEquals(1, count("SELECT COUNT(*) FROM courses WHERE id = ? AND pending_delete = true", deletedCourseId));
+
+        job = runToCompletion(job);
+
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(0, count("SELECT COUNT(*) FROM courses WHERE id = ?", deletedCourseId));
+        assertEquals(0, count("SELECT COUNT(*) FROM lessons WHERE course_id = ?", deletedCourseId));
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments WHERE course_id = ?", deletedCourseId));
+        assertNoOrphans();
+        // 1 enrollment + 2 progress rows + 2 lessons + the course, one row per chunk
+        assertEquals(6, job.getRowsDeleted());
+        assertEquals(1, job.getMediaDeleted());
+        verify(mediaStorageService).deleteFiles(List.of("https://media/lesson-1.mp4"));
+
+        // The other course is untouched
+        assertEquals(2, count("SELECT enrollment_count FROM courses WHERE id = ?", keptCourseId));
+        assertEquals(2, count("SELECT COUNT(*) FROM enrollments"));
+        assertEquals(2, count("SELECT COUNT(*) FROM lesson_progress"));
+    }
+
+    @Test
+    void testUserJob_RemovesStudentAndDecrementsCounters() {
+        DeletionJob job = runToCompletion(deletionJobService.scheduleUserDeletion(studentId));
+
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", studentId));
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments WHERE student_id = ?", studentId));
+        assertEquals(0, count("SELECT COUNT(*) FROM lesson_progress WHERE student_id = ?", studentId));
+        assertNoOrphans();
+
+        // Each course the student was in lost exactly one enrollment
+        assertEquals(0, count("SELECT enrollment_count FROM courses WHERE id = ?", deletedCourseId));
+        assertEquals(1, count("SELECT enrollment_count FROM courses WHERE id = ?", keptCourseId));
+        assertEquals(1, count("SELECT COUNT(*) FROM lesson_progress WHERE student_id = ?", otherStudentId));
+        verify(userStatusCache, atLeastOnce()).evict(studentId);
+    }
+
+    @Test
+    void testUserJob_RemovesInstructorCoursesFirst() {
+        DeletionJob job = runToCompletion(deletionJobService.scheduleUserDeletion(instructorId));
+
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", instructorId));
+        assertEquals(0, count("SELECT COUNT(*) FROM courses"));
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments"));
+        assertEquals(0, count("SELECT COUNT(*) FROM lesson_progress"));
+        assertNoOrphans();
+    }
+
+    @Test
+    void testCourseJob_RetriesThenFails() {
+        when(mediaStorageService.deleteFiles(anyList())).thenThrow(new RuntimeException("S3 unavailable"));
+        DeletionJob job = deletionJobService.scheduleCourseDeletion(deletedCourseId);
+
+        for (int run = 1; run <= 3; run++) {
+            deletionJobService.runPendingJobs();
+            job = deletionJobRepository.findById(job.getId()).orElseThrow();
+            assertEquals(run, job.getAttempts());
+        }
+
+        assertEquals(Status.FAILED, job.getStatus());
+        assertEquals("S3 unavailable", job.getLastError());
+        assertEquals("lesson_progress", job.getPhase());
+        // The failed lesson chunk rolled back, so the lessons keep their media URLs for a later retry
+        assertEquals(2, count("SELECT COUNT(*) FROM lessons WHERE course_id = ?", deletedCourseId));
+        assertEquals(1, count("SELECT COUNT(*) FROM courses WHERE id = ? AND pending_delete = true", deletedCourseId));
+
+        // A failed job is not picked up again
+        deletionJobService.runPendingJobs();
+        assertEquals(3, deletionJobRepository.findById(job.getId()).orElseThrow().getAttempts());
+    }
+
+    // Keeps running like the scheduler would until the job leaves PENDING / RUNNING
+    private DeletionJob runToCompletion(DeletionJob job) {
+        for (int run = 0; run < 10 && (job.getStatus() == Status.PENDING || job.getStatus() == Status.RUNNING); run++) {
+            deletionJobService.runPendingJobs();
+            job = deletionJobRepository.findById(job.getId()).orElseThrow();
+        }
+        return job;
+    }
+
+    private void assertNoOrphans() {
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments e WHERE NOT EXISTS (SELECT 1 FROM courses c WHERE c.id = e.course_id) " +
+                "OR NOT EXISTS (SELECT 1 FROM users u WHERE u.id = e.student_id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM lesson_progress lp WHERE NOT EXISTS (SELECT 1 FROM lessons l WHERE l.id = lp.lesson_id) " +
+                "OR NOT EXISTS (SELECT 1 FROM users u WHERE u.id = lp.student_id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM lessons l WHERE NOT EXISTS (SELECT 1 FROM courses c WHERE c.id = l.course_id)"));
+    }
+
+    private int count(String sql, Object... args) {
+        Integer value = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return value != null ? value : 0;
+    }
+
+    private User persistUser(String name, Role role) {
+        User user = User.builder().username(name).email(name.toLowerCase() + "@lms.com").password("x").role(role).build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Course persistCourse(String title, User instructor) {
+        Course course = Course.builder().title(title).approved(true).instructor(instructor).build();
+        entityManager.persist(course);
+        return course;
+    }
+
+    private Lesson persistLesson(Course course, String mediaUrl) {
+        Lesson lesson = Lesson.builder().title("Lesson").course(course).mediaUrl(mediaUrl).build();
+        entityManager.persist(lesson);
+        return lesson;
+    }
+
+    private void persistEnrollment(User student, Course course) {
+        entityManager.persist(Enrollment.builder()
+                .student(student)
+                .course(course)
+                .enrolledAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void persistProgress(User student, Lesson lesson) {
+        entityManager.persist(LessonProgress.builder().student(student).lesson(lesson).completed(true).build());
+    }
+}
@@ -0,0 +1,119 @@
+package com.lms.backend.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process S3 stand-in for uploader tests and benchmarks. Each call can be slowed down to a fixed
+ * per-connection bandwidth, and chosen part numbers can be made to fail a number of times with a 503.
+ */
+public class InMemoryS3 extends AbstractAmazonS3 {
+
+    public final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    public final Map<Integer, AtomicInteger> failuresByPart = new ConcurrentHashMap<>();
+    public final AtomicInteger uploadPartCalls = new AtomicInteger();
+    public final AtomicInteger aborted = new AtomicInteger();
+    public final AtomicInteger maxConcurrentParts = new AtomicInteger();
+
+    private final Map<String, ConcurrentSkipListMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger concurrentParts = new AtomicInteger();
+    private final long bytesPerSecondPerConnection;
+
+    // 0 = no simulated transfer time
+    public InMemoryS3(long bytesPerSecondPerConnection) {
+        this.bytesPerSecondPerConnection = bytesPerSecondPerConnection;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        objects.put(request.getKey(), transfer(request.getInputStream()));
+        return new PutObjectResult();
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ConcurrentSkipListMap<>());
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setUploadId(uploadId);
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        uploadPartCalls.incrementAndGet();
+        int running = concurrentParts.incrementAndGet();
+        maxConcurrentParts.accumulateAndGet(running, Math::max);
+        try {
+            AtomicInteger failures = failuresByPart.get(request.getPartNumber());
+            if (failures != null && failures.getAndDecrement() > 0) {
+                AmazonServiceException unavailable = new AmazonServiceException("Slow Down");
+                unavailable.setStatusCode(503);
+                throw unavailable;
+            }
+            byte[] data = transfer(request.getInputStream());
+            uploads.get(request.getUploadId()).put(request.getPartNumber(), data);
+
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag(Integer.toHexString(Arrays.hashCode(data)));
+            return result;
+        } finally {
+            concurrentParts.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        ConcurrentSkipListMap<Integer, byte[]> parts = uploads.remove(request.getUploadId());
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        for (PartETag etag : request.getPartETags()) {
+            object.writeBytes(parts.get(etag.getPartNumber()));
+        }
+        objects.put(request.getKey(), object.toByteArray());
+        return new CompleteMultipartUploadResult();
+    }
+
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.getUploadId());
+        aborted.incrementAndGet();
+    }
+
+    // Reads the body, taking as long as a connection of the configured bandwidth would
+    private byte[] transfer(InputStream input) {
+        try {
+            byte[] data = input.readAllBytes();
+            if (bytesPerSecondPerConnection > 0) {
+                Thread.sleep(data.length * 1000L / bytesPerSecondPerConnection);
+            }
+            return data;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.LearningStreakDto;
+import com.lms.backend.model.StudentActivity;
+import com.lms.backend.repository.StudentActivityRepository;
+import com.lms.backend.service.impl.LearningActivityServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LearningActivityServiceImplTest {
+
+    @Mock
+    private StudentActivityRepository studentActivityRepository;
+
+    @InjectMocks
+    private LearningActivityServiceImpl learningActivityService;
+
+    // Builds the yearly bitmap rows for the given active days
+    private List<StudentActivity> activity(LocalDate... days) {
+        Map<Integer, BitSet> byYear = new TreeMap<>();
+        for (LocalDate day : days) {
+            byYear.computeIfAbsent(day.getYear(), y -> new BitSet()).set(day.getDayOfYear() - 1);
+        }
+        List<StudentActivity> rows = new ArrayList<>();
+        byYear.forEach((year, bits) -> rows.add(StudentActivity.builder()
+                .studentId(1L).year(year).activeDays(bits.toByteArray()).build()));
+        return rows;
+    }
+
+    @Test
+    void testGetStreak_NoActivity() {
+        when(studentActivityRepository.findByStudentIdOrderByYearAsc(1L)).thenReturn(List.of());
+
+        LearningStreakDto streak = learningActivityService.getStreak(1L);
+
+        assertEquals(0, streak.getCurrentStreak());
+        assertEquals(0, streak.getLongestStreak());
+    }
+
+    @Test
+    void testGetStreak_CurrentAndLongest() {
+        LocalDate today = LocalDate.now();
+        when(studentActivityRepository.findByStudentIdOrderByYearAsc(1L)).thenReturn(activity(
+                today, today.minusDays(1), today.minusDays(2),
+                today.minusDays(10), today.minusDays(11), today.minusDays(12), today.minusDays(13), today.minusDays(14)));
+
+        LearningStreakDto streak = learningActivityService.getStreak(1L);
+
+        assertEquals(3, streak.getCurrentStreak());
+        assertEquals(5, streak.getLongestStreak());
+    }
+
+    @Test
+    void testGetStreak_StillAliveWhenOnlyYesterdayActive() {
+        LocalDate today = LocalDate.now();
+        when(studentActivityRepository.findByStudentIdOrderByYearAsc(1L)).thenReturn(activity(
+                today.minusDays(1), today.minusDays(2)));
+
+        assertEquals(2, learningActivityService.getStreak(1L).getCurrentStreak());
+    }
+
+    @Test
+    void testGetStreak_BrokenStreak() {
+        LocalDate today = LocalDate.now();
+        when(studentActivityRepository.findByStudentIdOrderByYearAsc(1L)).thenReturn(activity(
+                today.minusDays(2), today.minusDays(3)));
+
+        LearningStreakDto streak = learningActivityService.getStreak(1L);
+
+        assertEquals(0, streak.getCurrentStreak());
+        assertEquals(2, streak.getLongestStreak());
+    }
+
+    @Test
+    void testGetStreak_SpansYearBoundary() {
+        LocalDate newYear = LocalDate.of(2024, 1, 1);
+        when(studentActivityRepository.findByStudentIdOrderByYearAsc(1L)).thenReturn(activity(
+                newYear.minusDays(2), newYear.minusDays(1), newYear, newYear.plusDays(1)));
+
+        assertEquals(4, learningActivityService.getStreak(1L).getLongestStreak());
+    }
+}
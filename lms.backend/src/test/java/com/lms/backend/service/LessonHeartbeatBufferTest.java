@@ -0,0 +1,115 @@
+package com.lms.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LessonHeartbeatBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LessonHeartbeatBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(buffer, "maxEntries", 2);
+        ReflectionTestUtils.setField(buffer, "maxSecondsPerHeartbeat", 60);
+        ReflectionTestUtils.setField(buffer, "idleDropSeconds", 120);
+        buffer.init();
+    }
+
+    @Test
+    void testOffer_CoalescesSameLesson() {
+        assertTrue(buffer.offer(1L, 10L, 100L, 15));
+        assertTrue(buffer.offer(1L, 10L, 100L, 15));
+        assertTrue(buffer.offer(1L, 10L, 100L, 15));
+
+        assertEquals(1, buffer.stats().get("buffered"));
+        assertEquals(3L, buffer.stats().get("accepted"));
+    }
+
+    @Test
+    void testOffer_RejectsNewKeysWhenFull() {
+        assertTrue(buffer.offer(1L, 10L, 100L, 15));
+        assertTrue(buffer.offer(1L, 10L, 101L, 15));
+
+        assertFalse(buffer.offer(1L, 10L, 102L, 15));
+        // Existing keys still coalesce
+        assertTrue(buffer.offer(1L, 10L, 100L, 15));
+        assertEquals(1L, buffer.stats().get("rejected"));
+    }
+
+    @Test
+    void testFlush_WritesOneBatchAndCarriesRemainder() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[]{1});
+        buffer.offer(1L, 10L, 100L, 60);
+        buffer.offer(1L, 10L, 100L, 30);
+
+        assertEquals(1, buffer.flush());
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        // 30s remainder stays buffered but is not written again on its own
+        assertEquals(1, buffer.stats().get("buffered"));
+        assertEquals(0, buffer.flush());
+    }
+
+    @Test
+    void testFlush_FailureKeepsEntriesForRetry() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        buffer.offer(1L, 10L, 100L, 60);
+
+        assertThrows(DataAccessResourceFailureException.class, () -> buffer.flush());
+        assertEquals(1, buffer.stats().get("buffered"));
+    }
+
+    @Test
+    void testFlush_FailedInsertRollsBackUpdateAndRequeuesOnce() throws Exception {
+        // Lesson 100 has a row and is updated, lesson 101 gets created meanwhile and the INSERT hits the unique key
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{1, 0})
+                .thenThrow(new DuplicateKeyException("uk_lesson_progress"));
+        buffer.offer(1L, 10L, 100L, 60);
+        buffer.offer(1L, 10L, 101L, 60);
+
+        assertThrows(DuplicateKeyException.class, () -> buffer.flush());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(2, buffer.stats().get("buffered"));
+
+        // The retry writes each minute once, not the rolled back minute on top of it
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[]{1, 1});
+        assertEquals(2, buffer.flush());
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setters = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), setters.capture());
+        BatchPreparedStatementSetter retry = setters.getAllValues().get(2);
+        for (int i = 0; i < retry.getBatchSize(); i++) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            retry.setValues(ps, i);
+            verify(ps).setInt(1, 1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.lms.backend.service;
+
+import com.lms.backend.service.impl.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalMediaStoreTest {
+
+    private static final String KEY = "course_7/abc_lecture.mp4";
+
+    @TempDir
+    Path rootDir;
+
+    @TempDir
+    Path stagingDir;
+
+    private LocalMediaStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalMediaStore(rootDir.toString(), "http://localhost:8080/", stagingDir.toString());
+    }
+
+    @Test
+    void testChunkedUpload_RetriedChunkOverwritesItsRange() throws IOException {
+        String stagingId = store.startChunkedUpload(KEY, "video/mp4");
+
+        store.storeChunk(KEY, stagingId, 0, 0, bytes("0123"), 4);
+        // A broken first attempt of chunk 1, then the retry
+        assertThrows(IOException.class, () -> store.storeChunk(KEY, stagingId, 1, 4, bytes("xx"), 4));
+        store.storeChunk(KEY, stagingId, 1, 4, bytes("4567"), 4);
+        store.storeChunk(KEY, stagingId, 2, 8, bytes("89"), 2);
+
+        assertEquals("http://localhost:8080/api/media/files/" + KEY, store.completeChunkedUpload(KEY, stagingId, 3));
+        assertEquals("0123456789", Files.readString(rootDir.resolve(KEY)));
+        try (var staged = Files.list(stagingDir)) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void testChunkedUpload_AbortAndInvalidStagingIds() throws IOException {
+        String stagingId = store.startChunkedUpload(KEY, "video/mp4");
+        store.storeChunk(KEY, stagingId, 0, 0, bytes("0123"), 4);
+
+        store.abortChunkedUpload(KEY, stagingId);
+        store.abortChunkedUpload(KEY, stagingId);
+
+        assertThrows(IllegalArgumentException.class, () -> store.storeChunk(KEY, stagingId, 1, 4, bytes("4567"), 4));
+        assertThrows(IllegalArgumentException.class, () -> store.storeChunk(KEY, "../media-store/x", 0, 0, bytes("0"), 1));
+        assertNull(store.describe(KEY));
+    }
+
+    private static ByteArrayInputStream bytes(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
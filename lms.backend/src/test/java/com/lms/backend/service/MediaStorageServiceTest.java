@@ -0,0 +1,159 @@
+package com.lms.backend.service;
+
+import com.lms.backend.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaStorageServiceTest {
+
+    @Mock
+    private MediaStore mediaStore;
+
+    @InjectMocks
+    private MediaStorageService mediaStorageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mediaStorageService, "directUploadMaxSize", DataSize.ofMegabytes(100));
+        ReflectionTestUtils.setField(mediaStorageService, "directUploadExpiryMinutes", 15L);
+        ReflectionTestUtils.setField(mediaStorageService, "streamMaxSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.setField(mediaStorageService, "streamMaxConcurrent", 1);
+        ReflectionTestUtils.setField(mediaStorageService, "streamAcquireTimeoutMs", 10L);
+        mediaStorageService.init();
+    }
+
+    @Test
+    void testCreateDirectUpload_ScopesKeyToCourse() {
+        when(mediaStore.createDirectUpload(anyString(), eq("video/mp4"), any(Instant.class)))
+                .thenReturn(new MediaStore.DirectUpload("https://storage/signed", "PUT", Map.of("Content-Type", "video/mp4")));
+
+        Map<String, Object> upload = mediaStorageService.createDirectUpload(7L, "../Intro Video.mp4", "video/mp4", 1024);
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(mediaStore).createDirectUpload(key.capture(), eq("video/mp4"), any(Instant.class));
+        assertTrue(key.getValue().startsWith("course_7/"));
+        assertTrue(key.getValue().endsWith("_Intro_Video.mp4"));
+        assertEquals(key.getValue(), upload.get("key"));
+        assertEquals("https://storage/signed", upload.get("uploadUrl"));
+    }
+
+    @Test
+    void testCreateDirectUpload_RejectsUnsupportedTypeAndOversizedFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaStorageService.createDirectUpload(7L, "run.sh", "application/x-sh", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaStorageService.createDirectUpload(7L, "big.mp4", "video/mp4", DataSize.ofMegabytes(101).toBytes()));
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void testUploadFile_RejectsUnsupportedType() {
+        MockMultipartFile page = new MockMultipartFile("file", "x.html", "text/html", "<script>".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> mediaStorageService.uploadFile(page, 7L));
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void testCreateDirectUpload_StoreWithoutDirectUploads() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> mediaStorageService.createDirectUpload(7L, "intro.mp4", "video/mp4", 1024));
+    }
+
+    @Test
+    void testVerifyDirectUpload_RejectsKeyOfAnotherCourse() {
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaStorageService.verifyDirectUpload(7L, "course_8/abc_video.mp4"));
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void testVerifyDirectUpload_DeletesObjectThatIsTooLarge() {
+        when(mediaStore.describe("course_7/abc_video.mp4"))
+                .thenReturn(new MediaStore.StoredMedia(DataSize.ofMegabytes(200).toBytes(), "video/mp4"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaStorageService.verifyDirectUpload(7L, "course_7/abc_video.mp4"));
+        verify(mediaStore).delete(List.of("course_7/abc_video.mp4"));
+        verify(mediaStore, never()).urlFor(anyString());
+    }
+
+    @Test
+    void testVerifyDirectUpload_MissingObject() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> mediaStorageService.verifyDirectUpload(7L, "course_7/abc_video.mp4"));
+        assertTrue(ex.getMessage().contains("Upload not found"));
+    }
+
+    @Test
+    void testUploadStream_PipesBodyToStoreAndReleasesSlot() throws Exception {
+        when(mediaStore.store(anyString(), any(InputStream.class), eq(-1L), eq("video/mp4"))).thenAnswer(invocation -> {
+            InputStream body = invocation.getArgument(1);
+            assertEquals(600, body.readAllBytes().length);
+            return "https://storage/" + invocation.getArgument(0);
+        });
+
+        String url = mediaStorageService.uploadStream(7L, "intro.mp4", "video/mp4", new ByteArrayInputStream(new byte[600]), -1);
+
+        assertTrue(url.startsWith("https://storage/course_7/"));
+        Semaphore slots = (Semaphore) ReflectionTestUtils.getField(mediaStorageService, "uploadSlots");
+        assertEquals(1, slots.availablePermits());
+    }
+
+    @Test
+    void testUploadStream_EnforcesSizeLimitWhileReading() throws Exception {
+        // Declared length over the limit: rejected before anything is read
+        assertThrows(PayloadTooLargeException.class, () -> mediaStorageService.uploadStream(
+                7L, "big.mp4", "video/mp4", new ByteArrayInputStream(new byte[0]), 2048));
+        verifyNoInteractions(mediaStore);
+
+        // Chunked body without a length: fails once the reader crosses the limit, even when the store wraps it
+        when(mediaStore.store(anyString(), any(InputStream.class), eq(-1L), eq("video/mp4"))).thenAnswer(invocation -> {
+            InputStream body = invocation.getArgument(1);
+            try {
+                body.readAllBytes();
+            } catch (RuntimeException ex) {
+                throw new RuntimeException("Unable to read request body", ex);
+            }
+            return "unreachable";
+        });
+        assertThrows(PayloadTooLargeException.class, () -> mediaStorageService.uploadStream(
+                7L, "big.mp4", "video/mp4", new ByteArrayInputStream(new byte[2048]), -1));
+    }
+
+    @Test
+    void testUploadStream_RejectsWhenAllSlotsAreBusy() throws Exception {
+        Semaphore slots = (Semaphore) ReflectionTestUtils.getField(mediaStorageService, "uploadSlots");
+        slots.acquire();
+
+        assertThrows(RejectedExecutionException.class, () -> mediaStorageService.uploadStream(
+                7L, "intro.mp4", "video/mp4", new ByteArrayInputStream(new byte[10]), 10));
+        // Multipart uploads share the same slots
+        assertThrows(RejectedExecutionException.class, () -> mediaStorageService.uploadFile(
+                new MockMultipartFile("file", "intro.mp4", "video/mp4", new byte[10]), 7L));
+        verifyNoInteractions(mediaStore);
+    }
+}
@@ -0,0 +1,172 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.UploadSession;
+import com.lms.backend.model.UploadSession.Status;
+import com.lms.backend.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final String UPLOAD_ID = "3f2b8c1e-0000-4000-8000-000000000001";
+    private static final String KEY = "course_7/abc_lecture.mp4";
+
+    @Mock
+    private MediaStore mediaStore;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ResumableUploadService resumableUploadService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resumableUploadService, "chunkSize", DataSize.ofBytes(10));
+        ReflectionTestUtils.setField(resumableUploadService, "maxSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(resumableUploadService, "sessionTtlMinutes", 60L);
+        ReflectionTestUtils.setField(resumableUploadService, "retentionDays", 7L);
+        resumableUploadService.init();
+    }
+
+    // 25 bytes in chunks of 10: 10 + 10 + 5
+    private UploadSession session(long receivedBytes, Status status) {
+        return UploadSession.builder()
+                .id(UPLOAD_ID)
+                .courseId(7L)
+                .lessonId(40L)
+                .objectKey(KEY)
+                .contentType("video/mp4")
+                .totalSize(25)
+                .chunkSize(10)
+                .receivedBytes(receivedBytes)
+                .stagingId("staging-1")
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(60))
+                .build();
+    }
+
+    @Test
+    void testWriteChunk_StoresChunkAtCurrentOffset() throws IOException {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(10, Status.ACTIVE)));
+        when(uploadSessionRepository.advanceOffset(eq(UPLOAD_ID), eq(Status.ACTIVE), eq(10L), eq(20L), any(), any()))
+                .thenReturn(1);
+        InputStream data = new ByteArrayInputStream(new byte[10]);
+
+        assertEquals(20, resumableUploadService.writeChunk(UPLOAD_ID, 1, data, 10));
+        verify(mediaStore).storeChunk(KEY, "staging-1", 1, 10L, data, 10L);
+        verify(mediaStorageService).acquireUploadSlot();
+        verify(mediaStorageService).releaseUploadSlot();
+    }
+
+    @Test
+    void testWriteChunk_BusySlotsStoreNothing() {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(10, Status.ACTIVE)));
+        doThrow(new RejectedExecutionException("busy")).when(mediaStorageService).acquireUploadSlot();
+
+        assertThrows(RejectedExecutionException.class,
+                () -> resumableUploadService.writeChunk(UPLOAD_ID, 1, new ByteArrayInputStream(new byte[10]), 10));
+        verifyNoInteractions(mediaStore);
+        verify(mediaStorageService, never()).releaseUploadSlot();
+        verify(uploadSessionRepository, never()).advanceOffset(any(), any(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testWriteChunk_RetriedChunkIsAcknowledgedWithoutStoring() throws IOException {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(20, Status.ACTIVE)));
+
+        assertEquals(20, resumableUploadService.writeChunk(UPLOAD_ID, 1, new ByteArrayInputStream(new byte[10]), 10));
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void testWriteChunk_RejectsGapsWrongLengthAndFinishedSessions() {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(10, Status.ACTIVE)));
+        // Chunk 2 before chunk 1
+        assertThrows(IllegalStateException.class,
+                () -> resumableUploadService.writeChunk(UPLOAD_ID, 2, InputStream.nullInputStream(), 5));
+        // Chunk 1 must be a full chunk
+        assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.writeChunk(UPLOAD_ID, 1, InputStream.nullInputStream(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.writeChunk(UPLOAD_ID, 3, InputStream.nullInputStream(), 10));
+
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(10, Status.EXPIRED)));
+        assertThrows(IllegalStateException.class,
+                () -> resumableUploadService.writeChunk(UPLOAD_ID, 1, InputStream.nullInputStream(), 10));
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void testCompleteUpload_AssemblesAllChunks() throws IOException {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(25, Status.ACTIVE)));
+        when(uploadSessionRepository.transition(eq(UPLOAD_ID), eq(Status.ACTIVE), eq(Status.ASSEMBLING), any()))
+                .thenReturn(1);
+        when(mediaStore.completeChunkedUpload(KEY, "staging-1", 3)).thenReturn("https://media/" + KEY);
+
+        assertEquals("https://media/" + KEY, resumableUploadService.completeUpload(UPLOAD_ID));
+        verify(uploadSessionRepository).save(argThat(saved ->
+                saved.getStatus() == Status.COMPLETED && saved.getFileUrl().equals("https://media/" + KEY)));
+    }
+
+    @Test
+    void testCompleteUpload_MissingBytesAndFailedAssembly() throws IOException {
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(20, Status.ACTIVE)));
+        assertThrows(IllegalStateException.class, () -> resumableUploadService.completeUpload(UPLOAD_ID));
+
+        when(uploadSessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session(25, Status.ACTIVE)));
+        when(uploadSessionRepository.transition(eq(UPLOAD_ID), eq(Status.ACTIVE), eq(Status.ASSEMBLING), any()))
+                .thenReturn(1);
+        when(mediaStore.completeChunkedUpload(KEY, "staging-1", 3)).thenThrow(new IOException("disk full"));
+
+        assertThrows(IOException.class, () -> resumableUploadService.completeUpload(UPLOAD_ID));
+        // Back to ACTIVE so the client can call complete again
+        verify(uploadSessionRepository).transition(eq(UPLOAD_ID), eq(Status.ASSEMBLING), eq(Status.ACTIVE), any());
+        verify(uploadSessionRepository, never()).save(any());
+    }
+
+    @Test
+    void testSweepExpiredSessions_DropsStagedChunks() {
+        UploadSession expired = session(10, Status.ACTIVE);
+        UploadSession renewed = session(20, Status.ACTIVE);
+        renewed.setId("renewed");
+        when(uploadSessionRepository.findByStatusInAndExpiresAtBefore(anyCollection(), any(), any(Pageable.class)))
+                .thenReturn(List.of(expired, renewed));
+        when(uploadSessionRepository.expire(eq(UPLOAD_ID), anyCollection(), eq(Status.EXPIRED), any())).thenReturn(1);
+        // A chunk arrived after the query and pushed expiresAt back
+        when(uploadSessionRepository.expire(eq("renewed"), anyCollection(), eq(Status.EXPIRED), any())).thenReturn(0);
+
+        resumableUploadService.sweepExpiredSessions();
+
+        verify(mediaStore).abortChunkedUpload(KEY, "staging-1");
+        verifyNoMoreInteractions(mediaStore);
+        verify(uploadSessionRepository).deleteFinishedBefore(anyCollection(), any());
+    }
+}
@@ -0,0 +1,69 @@
+package com.lms.backend.service;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3MultipartUploaderTest {
+
+    private final InMemoryS3 s3 = new InMemoryS3(0);
+
+    // 1KB parts so a few KB of data exercises many parts
+    private final S3MultipartUploader uploader =
+            new S3MultipartUploader(s3, DataSize.ofKilobytes(1), 3, 8, 3, 1);
+
+    @AfterEach
+    void tearDown() {
+        uploader.shutdown();
+    }
+
+    @Test
+    void testUpload_SplitsIntoPartsAndReassemblesInOrder() {
+        byte[] data = randomBytes(10 * 1024 + 512);
+
+        uploader.upload("bucket", "course_1/video.mp4", new ByteArrayInputStream(data), new ObjectMetadata());
+
+        assertArrayEquals(data, s3.objects.get("course_1/video.mp4"));
+        assertEquals(11, s3.uploadPartCalls.get());
+        assertTrue(s3.maxConcurrentParts.get() <= 3);
+        assertEquals(0, s3.aborted.get());
+    }
+
+    @Test
+    void testUpload_RetriesOnlyTheFailedPart() {
+        byte[] data = randomBytes(4 * 1024);
+        s3.failuresByPart.put(2, new AtomicInteger(2));
+
+        uploader.upload("bucket", "course_1/video.mp4", new ByteArrayInputStream(data), new ObjectMetadata());
+
+        assertArrayEquals(data, s3.objects.get("course_1/video.mp4"));
+        // 4 parts + 2 retries of part 2
+        assertEquals(6, s3.uploadPartCalls.get());
+    }
+
+    @Test
+    void testUpload_AbortsWhenAPartKeepsFailing() {
+        byte[] data = randomBytes(4 * 1024);
+        s3.failuresByPart.put(3, new AtomicInteger(Integer.MAX_VALUE));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                uploader.upload("bucket", "course_1/video.mp4", new ByteArrayInputStream(data), new ObjectMetadata()));
+
+        assertTrue(ex.getMessage().contains("S3 multipart upload failed"));
+        assertEquals(1, s3.aborted.get());
+        assertFalse(s3.objects.containsKey("course_1/video.mp4"));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] data = new byte[length];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,163 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.ProgressSyncItem;
+import com.lms.backend.dto.ProgressSyncResult;
+import com.lms.backend.event.ActivityOccurredEvent;
+import com.lms.backend.exception.ConflictException;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.LessonProgressRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.service.impl.StudentServiceImpl;
+import com.lms.backend.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentServiceImplTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private LearningActivityService learningActivityService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StudentServiceImpl studentService;
+
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentService, "maxSyncItems", 3);
+        ReflectionTestUtils.setField(studentService, "maxSyncMinutes", 60);
+        student = new User();
+        student.setId(7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncProgress_ValidatesAsSetAndRecountsOnce() {
+        when(lessonRepository.findEnrolledLessonCourses(eq(7L), anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, 10L}, new Object[]{2L, 10L}, new Object[]{3L, 20L}));
+        // Lesson 1 already completed, lesson 2 has an uncompleted row, lesson 3 has no row
+        when(lessonProgressRepository.findCompletionStates(eq(7L), anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, true}, new Object[]{2L, false}));
+
+        ProgressSyncResult result = studentService.syncProgress(student, List.of(
+                new ProgressSyncItem(10L, 1L, null, 2),
+                new ProgressSyncItem(10L, 2L, null, 3),
+                new ProgressSyncItem(20L, 3L, null, null)));
+
+        assertEquals(3, result.getAccepted());
+        assertEquals(2, result.getNewlyCompleted());
+        assertTrue(result.getRejected().isEmpty());
+
+        verify(lessonRepository, times(1)).findEnrolledLessonCourses(eq(7L), anyCollection());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(enrollmentRepository, times(1)).recountLessonCountersForStudent(7L, Set.of(10L, 20L));
+        verify(enrollmentRepository, times(1)).refreshProgressForStudent(7L, Set.of(10L, 20L));
+        // One feed entry for the whole sync
+        verify(eventPublisher, times(1)).publishEvent(any(ActivityOccurredEvent.class));
+    }
+
+    @Test
+    void testSyncProgress_RejectsForeignLessonsWithoutWriting() {
+        when(lessonRepository.findEnrolledLessonCourses(eq(7L), anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 10L}));
+
+        ProgressSyncResult result = studentService.syncProgress(student, List.of(
+                new ProgressSyncItem(99L, 1L, null, 1),
+                new ProgressSyncItem(10L, 2L, null, 1)));
+
+        assertEquals(0, result.getAccepted());
+        assertEquals(2, result.getRejected().size());
+        verifyNoInteractions(jdbcTemplate);
+        verify(enrollmentRepository, never()).recountLessonCountersForStudent(anyLong(), anyCollection());
+    }
+
+    @Test
+    void testSyncProgress_TooManyItems() {
+        List<ProgressSyncItem> items = Collections.nCopies(4, new ProgressSyncItem(10L, 1L, null, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> studentService.syncProgress(student, items));
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncProgress_CapsTimeSpentPerLesson() {
+        when(lessonRepository.findEnrolledLessonCourses(eq(7L), anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 10L}));
+        when(lessonProgressRepository.findCompletionStates(eq(7L), anyCollection())).thenReturn(List.of());
+
+        studentService.syncProgress(student, List.of(
+                new ProgressSyncItem(10L, 1L, null, 50),
+                new ProgressSyncItem(10L, 1L, null, Integer.MAX_VALUE)));
+
+        ArgumentCaptor<List<ProgressSyncItem>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserts.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(60, inserts.getValue().get(0).getTimeSpent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncProgress_ConcurrentInsertIsConflict() {
+        when(lessonRepository.findEnrolledLessonCourses(eq(7L), anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 10L}));
+        when(lessonProgressRepository.findCompletionStates(eq(7L), anyCollection())).thenReturn(List.of());
+        // Update batch is empty, the insert batch hits a row created in between
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[0][])
+                .thenThrow(new DuplicateKeyException("lesson_progress"));
+
+        assertThrows(ConflictException.class, () -> studentService.syncProgress(student,
+                List.of(new ProgressSyncItem(10L, 1L, null, 5))));
+        verify(enrollmentRepository, never()).recountLessonCountersForStudent(anyLong(), anyCollection());
+    }
+
+    @Test
+    void testGetCatalogPage_TamperedSortKeyIsBadRequest() {
+        String emptyKey = KeysetCursor.of(null, 5L).encode();
+        String garbageKey = new KeysetCursor("yesterday", 5L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> studentService.getCatalogPage(emptyKey, 20));
+        assertThrows(IllegalArgumentException.class, () -> studentService.getCatalogPage(garbageKey, 20));
+        verifyNoInteractions(courseRepository);
+    }
+}
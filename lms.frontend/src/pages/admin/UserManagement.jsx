@@ -1,27 +1,53 @@
 import React, { useState, useEffect } from "react";
 import AdminLayout from "../../layouts/AdminLayout";
 import {
-  getAllUsers,
+  getUsersPage,
+  exportUsers,
+  getAdminStats,
   updateUserRole,
   deleteUser,
 } from "../../services/adminService";
 
+const PAGE_SIZE = 50;
+
 export default function UserManagement() {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [stats, setStats] = useState({});
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState("");
   const [roleFilter, setRoleFilter] = useState("ALL");
   const [editingUser, setEditingUser] = useState(null);
   const [newRole, setNewRole] = useState("");
 
+  // Filters run on the server; wait for typing to settle before refetching
+  useEffect(() => {
+    const timer = setTimeout(loadUsers, 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm, roleFilter]);
+
   useEffect(() => {
-    loadUsers();
+    loadStats();
   }, []);
 
+  const loadStats = async () => {
+    try {
+      setStats(await getAdminStats());
+    } catch (error) {
+      console.error("Error loading user stats:", error);
+    }
+  };
+
   const loadUsers = async () => {
     try {
-      const usersData = await getAllUsers();
-      setUsers(usersData);
+      const page = await getUsersPage({
+        size: PAGE_SIZE,
+        role: roleFilter,
+        emailPrefix: searchTerm.trim(),
+      });
+      setUsers(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error("Error loading users:", error);
     } finally {
@@ -29,10 +55,37 @@ export default function UserManagement() {
     }
   };
 
+  const loadMoreUsers = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await getUsersPage({
+        cursor: nextCursor,
+        size: PAGE_SIZE,
+        role: roleFilter,
+        emailPrefix: searchTerm.trim(),
+      });
+      setUsers((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Error loading more users:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const handleExport = async (format) => {
+    try {
+      await exportUsers({ format, role: roleFilter, emailPrefix: searchTerm.trim() });
+    } catch (error) {
+      alert("Error exporting users: " + error.message);
+    }
+  };
+
   const handleRoleUpdate = async (userId) => {
     try {
       await updateUserRole(userId, newRole);
       await loadUsers();
+      await loadStats();
       setEditingUser(null);
       setNewRole("");
     } catch (error) {
@@ -50,6 +103,7 @@ export default function UserManagement() {
       try {
         await deleteUser(userId);
         await loadUsers();
+        await loadStats();
       } catch (error) {
         console.error("Error deleting user:", error);
         alert("Error deleting user: " + error.message);
@@ -57,14 +111,6 @@ export default function UserManagement() {
     }
   };
 
-  const filteredUsers = users.filter((user) => {
-    const matchesSearch =
-      user.username?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      user.email?.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesRole = roleFilter === "ALL" || user.role?.name === roleFilter;
-    return matchesSearch && matchesRole;
-  });
-
   const getRoleBadgeColor = (role) => {
     switch (role) {
       case "ROLE_ADMIN":
@@ -116,31 +162,45 @@ export default function UserManagement() {
               Manage user roles and system access
             </p>
           </div>
+          <div className="flex gap-3 mt-4 sm:mt-0">
+            <button
+              onClick={() => handleExport("csv")}
+              className="bg-white border border-gray-300 hover:bg-gray-50 text-gray-700 px-4 py-2 rounded-lg text-sm transition-colors"
+            >
+              Export CSV
+            </button>
+            <button
+              onClick={() => handleExport("ndjson")}
+              className="bg-white border border-gray-300 hover:bg-gray-50 text-gray-700 px-4 py-2 rounded-lg text-sm transition-colors"
+            >
+              Export NDJSON
+            </button>
+          </div>
         </div>
 
         {/* Stats */}
         <div className="grid grid-cols-1 md:grid-cols-4 gap-6">
           <div className="bg-white p-6 rounded-xl border border-gray-200 shadow-sm">
             <div className="text-2xl font-bold text-gray-900">
-              {users.length}
+              {stats.totalUsers ?? "-"}
             </div>
             <div className="text-sm text-gray-600">Total Users</div>
           </div>
           <div className="bg-white p-6 rounded-xl border border-gray-200 shadow-sm">
             <div className="text-2xl font-bold text-gray-900">
-              {users.filter((u) => u.role?.name === "ROLE_STUDENT").length}
+              {stats.totalStudents ?? "-"}
             </div>
             <div className="text-sm text-gray-600">Students</div>
           </div>
           <div className="bg-white p-6 rounded-xl border border-gray-200 shadow-sm">
             <div className="text-2xl font-bold text-gray-900">
-              {users.filter((u) => u.role?.name === "ROLE_INSTRUCTOR").length}
+              {stats.totalInstructors ?? "-"}
             </div>
             <div className="text-sm text-gray-600">Instructors</div>
           </div>
           <div className="bg-white p-6 rounded-xl border border-gray-200 shadow-sm">
             <div className="text-2xl font-bold text-gray-900">
-              {users.filter((u) => u.role?.name === "ROLE_ADMIN").length}
+              {stats.totalAdmins ?? "-"}
             </div>
             <div className="text-sm text-gray-600">Admins</div>
           </div>
@@ -157,7 +217,7 @@ export default function UserManagement() {
               <div className="relative">
                 <input
                   type="text"
-                  placeholder="Search by username or email..."
+                  placeholder="Search by email prefix..."
                   value={searchTerm}
                   onChange={(e) => setSearchTerm(e.target.value)}
                   className="w-full pl-10 pr-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-blue-500"
@@ -223,7 +283,7 @@ export default function UserManagement() {
                 </tr>
               </thead>
               <tbody className="divide-y divide-gray-200">
-                {filteredUsers.map((user) => (
+                {users.map((user) => (
                   <tr
                     key={user.id}
                     className="hover:bg-gray-50 transition-colors"
@@ -275,15 +335,15 @@ export default function UserManagement() {
                         <div className="flex items-center space-x-3">
                           <span
                             className={`inline-flex items-center px-3 py-1 rounded-full text-sm font-medium border ${getRoleBadgeColor(
-                              user.role?.name
+                              user.role
                             )}`}
                           >
-                            {formatRole(user.role?.name)}
+                            {formatRole(user.role)}
                           </span>
                           <button
                             onClick={() => {
                               setEditingUser(user.id);
-                              setNewRole(user.role?.name || "ROLE_STUDENT");
+                              setNewRole(user.role || "ROLE_STUDENT");
                             }}
                             className="text-blue-600 hover:text-blue-900 text-sm transition-colors flex items-center gap-1"
                           >
@@ -336,8 +396,21 @@ export default function UserManagement() {
             </table>
           </div>
 
+          {/* Next page */}
+          {nextCursor && (
+            <div className="text-center py-4 border-t border-gray-200">
+              <button
+                onClick={loadMoreUsers}
+                disabled={loadingMore}
+                className="text-blue-600 hover:text-blue-800 text-sm font-medium disabled:opacity-50"
+              >
+                {loadingMore ? "Loading..." : "Load more users"}
+              </button>
+            </div>
+          )}
+
           {/* Empty State */}
-          {filteredUsers.length === 0 && (
+          {users.length === 0 && (
             <div className="text-center py-12">
               <svg
                 className="w-16 h-16 text-gray-400 mx-auto mb-4"
@@ -8,49 +8,81 @@ import { toast } from "react-toastify";
 export default function EnrolledStudents() {
   const { id } = useParams();
   const [students, setStudents] = useState([]);
+  const [summary, setSummary] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [course, setCourse] = useState(null);
+  const [sort, setSort] = useState("recent");
+  const [band, setBand] = useState("all");
+  const [nextCursor, setNextCursor] = useState(null);
 
   useEffect(() => {
-    loadEnrolledStudents();
+    loadCourse();
   }, [id]);
 
-  // ✅ REAL DATA LOADING
-  const loadEnrolledStudents = async () => {
-    try {
-      setLoading(true);
+  useEffect(() => {
+    loadEnrolledStudents();
+  }, [id, sort, band]);
 
-      // ✅ REAL API CALL FOR COURSE DATA
-      const courseData = await instructorService.getCourse(id);
+  const loadCourse = async () => {
+    try {
+      const [courseData, summaryData] = await Promise.all([
+        instructorService.getCourse(id),
+        instructorService.getRosterSummary(id),
+      ]);
       setCourse(courseData);
+      setSummary(summaryData);
+    } catch (error) {
+      console.error("Error loading course:", error);
+    }
+  };
 
-      // ✅ REAL API CALL FOR ENROLLED STUDENTS
-      const studentsData = await instructorService.getEnrolledStudents(id);
-
-      console.log("Enrolled students data:", studentsData);
-
-      if (studentsData && Array.isArray(studentsData)) {
-        setStudents(studentsData);
-      } else {
-        // Fallback to empty array if no data
-        setStudents([]);
-        toast.info("No students enrolled yet");
-      }
+  // First page for the current sort and band
+  const loadEnrolledStudents = async () => {
+    try {
+      setLoading(true);
+      const page = await instructorService.getEnrolledStudents(id, {
+        sort,
+        band,
+      });
+      setStudents(page.items || []);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error("Error loading enrolled students:", error);
       toast.error("Failed to load enrolled students");
       setStudents([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
   };
 
+  const loadMoreStudents = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await instructorService.getEnrolledStudents(id, {
+        cursor: nextCursor,
+        sort,
+        band,
+      });
+      setStudents((prev) => [...prev, ...(page.items || [])]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Error loading more students:", error);
+      toast.error("Failed to load more students");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const formatDate = (dateString) => {
     if (!dateString) return "N/A";
     return new Date(dateString).toLocaleDateString("en-IN");
   };
 
-  if (loading) {
+  const formatProgress = (progress) => Math.round(progress || 0);
+
+  if (loading && !course) {
     return (
       <InstructorLayout>
         <div className="flex items-center justify-center min-h-96">
@@ -70,7 +102,8 @@ export default function EnrolledStudents() {
               Enrolled Students
             </h1>
             <p className="text-gray-600 mt-2">
-              {course?.title || "Course"} • {students.length} students enrolled
+              {course?.title || "Course"} • {summary?.totalStudents ?? 0}{" "}
+              students enrolled
             </p>
           </div>
         </div>
@@ -80,36 +113,25 @@ export default function EnrolledStudents() {
           <div className="bg-white p-6 rounded-2xl shadow-sm border border-gray-200">
             <p className="text-sm font-medium text-gray-600">Total Students</p>
             <p className="text-3xl font-bold text-gray-900 mt-2">
-              {students.length}
+              {summary?.totalStudents ?? 0}
             </p>
           </div>
           <div className="bg-white p-6 rounded-2xl shadow-sm border border-gray-200">
             <p className="text-sm font-medium text-gray-600">Avg. Progress</p>
             <p className="text-3xl font-bold text-gray-900 mt-2">
-              {students.length > 0
-                ? Math.round(
-                    students.reduce(
-                      (sum, student) => sum + (student.progress || 0),
-                      0
-                    ) / students.length
-                  )
-                : 0}
-              %
+              {summary?.averageProgress ?? 0}%
             </p>
           </div>
           <div className="bg-white p-6 rounded-2xl shadow-sm border border-gray-200">
             <p className="text-sm font-medium text-gray-600">Completed</p>
             <p className="text-3xl font-bold text-gray-900 mt-2">
-              {students.filter((s) => s.progress === 100).length}
+              {summary?.completed ?? 0}
             </p>
           </div>
           <div className="bg-white p-6 rounded-2xl shadow-sm border border-gray-200">
             <p className="text-sm font-medium text-gray-600">Active</p>
             <p className="text-3xl font-bold text-gray-900 mt-2">
-              {
-                students.filter((s) => s.progress > 0 && s.progress < 100)
-                  .length
-              }
+              {summary?.inProgress ?? 0}
             </p>
           </div>
         </div>
@@ -117,9 +139,32 @@ export default function EnrolledStudents() {
         {/* Students Table */}
         <div className="bg-white rounded-2xl shadow-sm border border-gray-200 overflow-hidden">
           <div className="p-6 border-b border-gray-200">
-            <h2 className="text-xl font-semibold text-gray-900">
-              Student List
-            </h2>
+            <div className="flex flex-col sm:flex-row sm:items-center sm:justify-between gap-4">
+              <h2 className="text-xl font-semibold text-gray-900">
+                Student List
+              </h2>
+              <div className="flex gap-3">
+                <select
+                  value={band}
+                  onChange={(e) => setBand(e.target.value)}
+                  className="border border-gray-300 rounded-lg px-3 py-2 text-sm"
+                >
+                  <option value="all">All Students</option>
+                  <option value="not_started">Not Started</option>
+                  <option value="in_progress">In Progress</option>
+                  <option value="completed">Completed</option>
+                </select>
+                <select
+                  value={sort}
+                  onChange={(e) => setSort(e.target.value)}
+                  className="border border-gray-300 rounded-lg px-3 py-2 text-sm"
+                >
+                  <option value="recent">Newest Enrollments</option>
+                  <option value="progress">Highest Progress</option>
+                  <option value="progress_asc">Lowest Progress</option>
+                </select>
+              </div>
+            </div>
           </div>
 
           <div className="overflow-x-auto">
@@ -135,6 +180,9 @@ export default function EnrolledStudents() {
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
                     Progress
                   </th>
+                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
+                    Last Activity
+                  </th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
                     Status
                   </th>
@@ -144,21 +192,21 @@ export default function EnrolledStudents() {
                 {students.length === 0 ? (
                   <tr>
                     <td
-                      colSpan="4"
+                      colSpan="5"
                       className="px-6 py-8 text-center text-gray-500"
                     >
-                      No students enrolled yet
+                      {band === "all"
+                        ? "No students enrolled yet"
+                        : "No students in this group"}
                     </td>
                   </tr>
                 ) : (
                   students.map((student) => (
-                    <tr key={student.id} className="hover:bg-gray-50">
+                    <tr key={student.enrollmentId} className="hover:bg-gray-50">
                       <td className="px-6 py-4 whitespace-nowrap">
                         <div>
                           <div className="text-sm font-medium text-gray-900">
-                            {student.name ||
-                              student.username ||
-                              `Student ${student.id}`}
+                            {student.username || `Student ${student.studentId}`}
                           </div>
                           <div className="text-sm text-gray-500">
                             {student.email || "No email"}
@@ -173,25 +221,30 @@ export default function EnrolledStudents() {
                           <div className="w-32 bg-gray-200 rounded-full h-2 mr-3">
                             <div
                               className="bg-green-600 h-2 rounded-full"
-                              style={{ width: `${student.progress || 0}%` }}
+                              style={{ width: `${formatProgress(student.progress)}%` }}
                             ></div>
                           </div>
                           <span className="text-sm text-gray-900">
-                            {student.progress || 0}%
+                            {formatProgress(student.progress)}%
                           </span>
                         </div>
                       </td>
+                      <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-900">
+                        {student.lastActivityAt
+                          ? formatDate(student.lastActivityAt)
+                          : "Never"}
+                      </td>
                       <td className="px-6 py-4 whitespace-nowrap">
                         <span
                           className={`inline-flex px-2 py-1 text-xs font-semibold rounded-full ${
-                            student.progress === 100
+                            student.progress >= 100
                               ? "bg-green-100 text-green-800"
                               : student.progress > 0
                               ? "bg-blue-100 text-blue-800"
                               : "bg-gray-100 text-gray-800"
                           }`}
                         >
-                          {student.progress === 100
+                          {student.progress >= 100
                             ? "Completed"
                             : student.progress > 0
                             ? "In Progress"
@@ -204,6 +257,19 @@ export default function EnrolledStudents() {
               </tbody>
             </table>
           </div>
+
+          {/* Next page */}
+          {nextCursor && (
+            <div className="text-center py-4 border-t border-gray-200">
+              <button
+                onClick={loadMoreStudents}
+                disabled={loadingMore}
+                className="text-blue-600 hover:text-blue-800 text-sm font-medium disabled:opacity-50"
+              >
+                {loadingMore ? "Loading..." : "Load more students"}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </InstructorLayout>
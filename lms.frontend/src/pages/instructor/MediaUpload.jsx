@@ -3,6 +3,40 @@ import { useParams, useNavigate } from "react-router-dom";
 import InstructorLayout from "../../layouts/InstructorLayout";
 import { toast } from "react-toastify";
 
+const API_BASE = "http://localhost:8080/api/media";
+const MAX_DIRECT_UPLOAD_SIZE = 2 * 1024 * 1024 * 1024; // 2GB, straight to storage
+const RESUMABLE_THRESHOLD = 16 * 1024 * 1024; // bigger files go up in chunks and can resume
+const CHUNK_ATTEMPTS = 5;
+
+const authHeaders = () => ({
+  Authorization: `Bearer ${localStorage.getItem("token")}`,
+});
+
+// PUT to the presigned URL with XHR so we get real upload progress
+const putToStorage = (upload, file, onProgress) =>
+  new Promise((resolve, reject) => {
+    const xhr = new XMLHttpRequest();
+    xhr.open(upload.method || "PUT", upload.uploadUrl);
+    Object.entries(upload.headers || {}).forEach(([name, value]) =>
+      xhr.setRequestHeader(name, value)
+    );
+    xhr.upload.onprogress = (e) => {
+      if (e.lengthComputable) onProgress((e.loaded / e.total) * 100);
+    };
+    xhr.onload = () =>
+      xhr.status >= 200 && xhr.status < 300
+        ? resolve()
+        : reject(new Error(`Storage upload failed (${xhr.status})`));
+    xhr.onerror = () => reject(new Error("Storage upload failed"));
+    xhr.send(file);
+  });
+
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+// Same file for the same lesson resumes the session that was interrupted
+const resumeKey = (courseId, lessonId, file) =>
+  `resumable-upload:${courseId}:${lessonId}:${file.name}:${file.size}:${file.lastModified}`;
+
 export default function MediaUpload() {
   const { id } = useParams();
   const navigate = useNavigate();
@@ -65,10 +99,9 @@ export default function MediaUpload() {
     const file = e.target.files[0];
     if (!file) return;
 
-    // Check file size (max 100MB)
-    const maxSize = 100 * 1024 * 1024; // 100MB in bytes
-    if (file.size > maxSize) {
-      toast.error("File size too large. Maximum size is 100MB.");
+    // Check file size (max 2GB)
+    if (file.size > MAX_DIRECT_UPLOAD_SIZE) {
+      toast.error("File size too large. Maximum size is 2GB.");
       return;
     }
 
@@ -99,26 +132,12 @@ export default function MediaUpload() {
     setUploadProgress(0);
 
     try {
-      const formData = new FormData();
-      formData.append("file", selectedFile);
-      formData.append("courseId", id);
-      formData.append("lessonId", selectedLessonId); // ✅ Lesson ID add karein
-
-      // Real API call
-      const response = await fetch("http://localhost:8080/api/media/upload", {
-        method: "POST",
-        body: formData,
-        headers: {
-          Authorization: `Bearer ${localStorage.getItem("token")}`,
-        },
-      });
-
-      if (!response.ok) {
-        const errorData = await response.json();
-        throw new Error(errorData.error || "Upload failed");
-      }
-
-      const result = await response.json();
+      // Large files in resumable chunks; otherwise direct to storage (the backend only
+      // signs the URL and checks the result), and through the backend as a last resort
+      const result =
+        selectedFile.size > RESUMABLE_THRESHOLD
+          ? await uploadResumable()
+          : (await uploadDirect()) || (await uploadThroughServer());
 
       toast.success("File uploaded successfully and attached to lesson!");
       console.log("Uploaded file URL:", result.fileUrl);
@@ -139,6 +158,162 @@ export default function MediaUpload() {
     }
   };
 
+  // Returns null when direct upload is not available, so the caller falls back to the server path
+  const uploadDirect = async () => {
+    if (!selectedFile.type) return null;
+
+    const startResponse = await fetch(`${API_BASE}/direct-uploads`, {
+      method: "POST",
+      headers: { ...authHeaders(), "Content-Type": "application/json" },
+      body: JSON.stringify({
+        courseId: Number(id),
+        fileName: selectedFile.name,
+        contentType: selectedFile.type,
+        size: selectedFile.size,
+      }),
+    });
+    if (startResponse.status === 400) {
+      const errorData = await startResponse.json();
+      throw new Error(errorData.error || "Upload rejected");
+    }
+    if (!startResponse.ok) return null;
+
+    const upload = await startResponse.json();
+    await putToStorage(upload, selectedFile, setUploadProgress);
+
+    const completeResponse = await fetch(`${API_BASE}/direct-uploads/complete`, {
+      method: "POST",
+      headers: { ...authHeaders(), "Content-Type": "application/json" },
+      body: JSON.stringify({
+        courseId: Number(id),
+        lessonId: Number(selectedLessonId),
+        key: upload.key,
+      }),
+    });
+    if (!completeResponse.ok) {
+      const errorData = await completeResponse.json();
+      throw new Error(errorData.error || "Upload failed");
+    }
+    return completeResponse.json();
+  };
+
+  // Existing session for this file (offset to continue from), or a new one
+  const openResumableSession = async () => {
+    const storageKey = resumeKey(id, selectedLessonId, selectedFile);
+    const savedId = localStorage.getItem(storageKey);
+    if (savedId) {
+      const response = await fetch(`${API_BASE}/resumable-uploads/${savedId}`, {
+        headers: authHeaders(),
+      });
+      if (response.ok) {
+        const session = await response.json();
+        if (session.status === "ACTIVE" || session.status === "COMPLETED") {
+          return session;
+        }
+      }
+      localStorage.removeItem(storageKey);
+    }
+
+    const response = await fetch(`${API_BASE}/resumable-uploads`, {
+      method: "POST",
+      headers: { ...authHeaders(), "Content-Type": "application/json" },
+      body: JSON.stringify({
+        courseId: Number(id),
+        lessonId: Number(selectedLessonId),
+        fileName: selectedFile.name,
+        contentType: selectedFile.type || "application/octet-stream",
+        size: selectedFile.size,
+      }),
+    });
+    const session = await response.json();
+    if (!response.ok) {
+      throw new Error(session.error || "Upload rejected");
+    }
+    localStorage.setItem(storageKey, session.uploadId);
+    return session;
+  };
+
+  // Sends chunk after chunk from the server's offset; a failed chunk is retried on its
+  // own, and if the page is closed the next attempt with the same file continues there
+  const uploadResumable = async () => {
+    const session = await openResumableSession();
+    const { uploadId, chunkSize } = session;
+    let offset = session.offset;
+    setUploadProgress((offset / selectedFile.size) * 100);
+
+    let attempt = 0;
+    while (session.status !== "COMPLETED" && offset < selectedFile.size) {
+      const index = Math.floor(offset / chunkSize);
+      const chunk = selectedFile.slice(offset, Math.min(offset + chunkSize, selectedFile.size));
+      try {
+        const response = await fetch(
+          `${API_BASE}/resumable-uploads/${uploadId}/chunks/${index}`,
+          {
+            method: "PUT",
+            headers: { ...authHeaders(), "Content-Type": "application/octet-stream" },
+            body: chunk,
+          }
+        );
+        const body = await response.json();
+        // 409 means our offset is off (e.g. a lost response); the server tells us where to go on
+        if (response.status === 409 && typeof body.offset === "number" && body.status === "ACTIVE") {
+          offset = body.offset;
+          continue;
+        }
+        if (!response.ok) {
+          if (response.status < 500) throw Object.assign(new Error(body.error), { fatal: true });
+          throw new Error(body.error || "Chunk upload failed");
+        }
+        offset = body.offset;
+        attempt = 0;
+        setUploadProgress((offset / selectedFile.size) * 100);
+      } catch (error) {
+        attempt += 1;
+        if (error.fatal || attempt >= CHUNK_ATTEMPTS) {
+          throw new Error(
+            `${error.message || "Upload interrupted"}. Select the same file again to resume.`
+          );
+        }
+        await sleep(1000 * attempt);
+      }
+    }
+
+    const completeResponse = await fetch(
+      `${API_BASE}/resumable-uploads/${uploadId}/complete`,
+      { method: "POST", headers: authHeaders() }
+    );
+    const result = await completeResponse.json();
+    if (!completeResponse.ok) {
+      throw new Error(result.error || "Upload failed");
+    }
+    localStorage.removeItem(resumeKey(id, selectedLessonId, selectedFile));
+    return result;
+  };
+
+  // Raw file as the request body; the backend pipes it to storage as it arrives
+  const uploadThroughServer = async () => {
+    const params = new URLSearchParams({
+      courseId: id,
+      lessonId: selectedLessonId,
+      fileName: selectedFile.name,
+    });
+
+    const response = await fetch(`${API_BASE}/stream?${params}`, {
+      method: "POST",
+      body: selectedFile,
+      headers: {
+        ...authHeaders(),
+        "Content-Type": selectedFile.type || "application/octet-stream",
+      },
+    });
+
+    if (!response.ok) {
+      const errorData = await response.json();
+      throw new Error(errorData.error || "Upload failed");
+    }
+    return response.json();
+  };
+
   const handleDragOver = (e) => {
     e.preventDefault();
     e.currentTarget.classList.add("border-blue-500", "bg-blue-50");
@@ -335,7 +510,7 @@ export default function MediaUpload() {
                 </div>
 
                 <p className="text-xs text-gray-500 mt-2">
-                  PNG, JPG, GIF, MP4, PDF, DOC, PPT up to 100MB
+                  PNG, JPG, GIF, MP4, PDF, DOC, PPT up to 2GB
                 </p>
               </div>
             </div>
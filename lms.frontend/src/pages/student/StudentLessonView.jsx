@@ -2,6 +2,9 @@ import React, { useState, useEffect } from "react";
 import { useParams } from "react-router-dom";
 import StudentLayout from "../../layouts/StudentLayout";
 import { toast } from "react-toastify";
+import studentService from "../../services/studentService";
+
+const HEARTBEAT_SECONDS = 15;
 
 export default function StudentLessonView() {
   const { lessonId } = useParams();
@@ -38,6 +41,26 @@ export default function StudentLessonView() {
     fetchLesson();
   }, [lessonId]);
 
+  // Report time spent while the lesson is open and the tab is visible
+  useEffect(() => {
+    if (!lesson?.courseId) return;
+
+    let backoffUntil = 0;
+    const timer = setInterval(() => {
+      if (document.visibilityState !== "visible" || Date.now() < backoffUntil) {
+        return;
+      }
+      studentService
+        .sendLessonHeartbeat(lesson.courseId, lesson.id, HEARTBEAT_SECONDS)
+        .catch((error) => {
+          const retryAfter = Number(error.response?.headers?.["retry-after"]);
+          backoffUntil = Date.now() + (retryAfter || HEARTBEAT_SECONDS) * 1000;
+        });
+    }, HEARTBEAT_SECONDS * 1000);
+
+    return () => clearInterval(timer);
+  }, [lesson?.courseId, lesson?.id]);
+
   const renderMedia = () => {
     if (!lesson?.mediaUrl) {
       return (
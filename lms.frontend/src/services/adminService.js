@@ -1,9 +1,17 @@
 import apiClient from "./apiClient";
 
 // User Management
-export const getAllUsers = async () => {
+// One keyset page: { items, nextCursor, hasMore }
+export const getUsersPage = async ({ cursor, size = 50, role, emailPrefix } = {}) => {
   try {
-    const response = await apiClient.get("/admin/users");
+    const response = await apiClient.get("/admin/users", {
+      params: {
+        cursor: cursor || undefined,
+        size,
+        role: role && role !== "ALL" ? role : undefined,
+        emailPrefix: emailPrefix || undefined,
+      },
+    });
     return response.data;
   } catch (error) {
     console.error("Error fetching users:", error);
@@ -11,6 +19,29 @@ export const getAllUsers = async () => {
   }
 };
 
+// Downloads the streamed export (format: "csv" | "ndjson") with the current filters
+export const exportUsers = async ({ format = "csv", role, emailPrefix } = {}) => {
+  try {
+    const response = await apiClient.get("/admin/users/export", {
+      params: {
+        format,
+        role: role && role !== "ALL" ? role : undefined,
+        emailPrefix: emailPrefix || undefined,
+      },
+      responseType: "blob",
+    });
+    const url = window.URL.createObjectURL(response.data);
+    const link = document.createElement("a");
+    link.href = url;
+    link.download = `users.${format}`;
+    link.click();
+    window.URL.revokeObjectURL(url);
+  } catch (error) {
+    console.error("Error exporting users:", error);
+    throw error;
+  }
+};
+
 export const createUser = async (userData) => {
   try {
     const response = await apiClient.post("/admin/users", {
@@ -12,16 +12,33 @@ export const instructorService = {
     }
   },
 
-  // instructorService.js mein yeh add karo
-  getEnrolledStudents: async (courseId) => {
+  // One keyset page of the roster: { items, nextCursor, hasMore }
+  // sort: recent | progress | progress_asc, band: all | not_started | in_progress | completed
+  getEnrolledStudents: async (
+    courseId,
+    { cursor, size = 50, sort = "recent", band = "all" } = {}
+  ) => {
     try {
       const { data } = await apiClient.get(
-        `/instructor/courses/${courseId}/students`
+        `/instructor/courses/${courseId}/students`,
+        { params: { cursor: cursor || undefined, size, sort, band } }
       );
       return data;
     } catch (error) {
       console.error("Error fetching enrolled students:", error);
-      return []; // Return empty array on error
+      throw error;
+    }
+  },
+
+  getRosterSummary: async (courseId) => {
+    try {
+      const { data } = await apiClient.get(
+        `/instructor/courses/${courseId}/students/summary`
+      );
+      return data;
+    } catch (error) {
+      console.error("Error fetching roster summary:", error);
+      throw error;
     }
   },
 
@@ -28,6 +28,15 @@ const studentService = {
     return response.data;
   },
 
+  // Time-spent heartbeat, buffered server-side (429 = back off)
+  async sendLessonHeartbeat(courseId, lessonId, seconds) {
+    await apiClient.post(
+      `/student/course/${courseId}/lesson/${lessonId}/heartbeat`,
+      null,
+      { params: { seconds } }
+    );
+  },
+
   async getLearningStats() {
     const response = await apiClient.get("/student/stats");
     return response.data;